@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config.benchmarks;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import com.oroarmor.config.ArrayConfigItem;
+import com.oroarmor.config.IntArrayConfigItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures writing {@link ArrayConfigItem}s and {@link IntArrayConfigItem}s
+ * to JSON, as a tree and as a stream
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArraySerializationBenchmark {
+    @Param({"16", "4096"})
+    public int arraySize;
+
+    private ArrayConfigItem<Integer> boxed;
+    private IntArrayConfigItem primitive;
+
+    @Setup
+    public void setup() {
+        Integer[] boxedValues = new Integer[arraySize];
+        int[] values = new int[arraySize];
+        for (int i = 0; i < arraySize; i++) {
+            boxedValues[i] = i;
+            values[i] = i;
+        }
+        boxed = new ArrayConfigItem<>("boxed", boxedValues, "boxed");
+        primitive = new IntArrayConfigItem("primitive", values, "primitive");
+    }
+
+    @Benchmark
+    public JsonObject boxedTree() {
+        JsonObject object = new JsonObject();
+        boxed.toJson(object);
+        return object;
+    }
+
+    @Benchmark
+    public String boxedStream() throws IOException {
+        StringWriter out = new StringWriter();
+        JsonWriter writer = new JsonWriter(out);
+        writer.beginObject();
+        boxed.toJson(writer);
+        writer.endObject();
+        return out.toString();
+    }
+
+    @Benchmark
+    public String primitiveStream() throws IOException {
+        StringWriter out = new StringWriter();
+        JsonWriter writer = new JsonWriter(out);
+        writer.beginObject();
+        primitive.toJson(writer);
+        writer.endObject();
+        return out.toString();
+    }
+}
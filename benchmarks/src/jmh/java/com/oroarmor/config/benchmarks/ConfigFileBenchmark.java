@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+import com.oroarmor.config.Config;
+import com.oroarmor.config.IntegerConfigItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link Config#readConfigFromFile()} and
+ * {@link Config#saveConfigToFile()} on small and very large configs. Each
+ * invocation changes the file or a value first, so the read or write is not
+ * skipped as unchanged.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigFileBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int itemCount;
+
+    @Param({"2"})
+    public int depth;
+
+    @Param({"16"})
+    public int arraySize;
+
+    private Config config;
+    private File file;
+    private IntegerConfigItem changed;
+    private long modified;
+
+    @Setup
+    public void setup() throws IOException {
+        file = File.createTempFile("benchmark", ".json");
+        file.deleteOnExit();
+        config = SyntheticConfig.create(itemCount, depth, arraySize, file);
+        config.saveConfigToFile();
+        changed = (IntegerConfigItem) config.getConfigItem(SyntheticConfig.path(0, depth));
+        modified = Files.getLastModifiedTime(file.toPath()).toMillis();
+    }
+
+    @Setup(Level.Invocation)
+    public void touch() throws IOException {
+        modified += 1000;
+        Files.setLastModifiedTime(file.toPath(), FileTime.fromMillis(modified));
+        changed.setInt(changed.getInt() + 1);
+    }
+
+    @Benchmark
+    public void readConfigFromFile() {
+        config.readConfigFromFile();
+    }
+
+    @Benchmark
+    public void saveConfigToFile() {
+        config.saveConfigToFile();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.oroarmor.config.ArrayConfigItem;
+import com.oroarmor.config.BooleanConfigItem;
+import com.oroarmor.config.Config;
+import com.oroarmor.config.ConfigItem;
+import com.oroarmor.config.ConfigItemGroup;
+import com.oroarmor.config.DoubleConfigItem;
+import com.oroarmor.config.EnumConfigItem;
+import com.oroarmor.config.IntegerConfigItem;
+import com.oroarmor.config.StringConfigItem;
+
+/**
+ * Generates configs of a chosen size for the benchmarks. Each top level group
+ * holds a chain of nested groups {@code depth} deep, and the innermost group
+ * holds the items, cycling through every item type.
+ *
+ * @author Eli Orona
+ */
+public final class SyntheticConfig {
+    public enum Mode {
+        FAST, BALANCED, QUALITY
+    }
+
+    /**
+     * The number of items in each innermost group
+     */
+    private static final int GROUP_WIDTH = 16;
+
+    private SyntheticConfig() {
+    }
+
+    /**
+     * Creates a config
+     *
+     * @param itemCount The total number of items
+     * @param depth     The number of nested groups between the top level group and the items
+     * @param arraySize The length of the array items
+     * @param file      The file for the config
+     * @return The config
+     */
+    public static Config create(int itemCount, int depth, int arraySize, File file) {
+        List<ConfigItemGroup> groups = new ArrayList<>();
+        int created = 0;
+        for (int group = 0; created < itemCount; group++) {
+            List<ConfigItem<?>> items = new ArrayList<>();
+            for (int i = 0; i < GROUP_WIDTH && created < itemCount; i++, created++) {
+                items.add(item(created, arraySize));
+            }
+            groups.add(nest(new ConfigItemGroup(items, depth > 0 ? "leaf" : "group_" + group), depth, "group_" + group));
+        }
+        return new Config(groups, file, "benchmark");
+    }
+
+    /**
+     * Creates a single group with {@code width} items, for benchmarks of wide groups
+     *
+     * @param width     The number of items
+     * @param arraySize The length of the array items
+     * @return The group
+     */
+    public static ConfigItemGroup wideGroup(int width, int arraySize) {
+        List<ConfigItem<?>> items = new ArrayList<>();
+        for (int i = 0; i < width; i++) {
+            items.add(item(i, arraySize));
+        }
+        return new ConfigItemGroup(items, "wide");
+    }
+
+    /**
+     * Gets the path of an item in a config made by {@link #create(int, int, int, File)}
+     *
+     * @param index The index of the item
+     * @param depth The depth the config was created with
+     * @return The path of the item
+     */
+    public static String path(int index, int depth) {
+        StringBuilder path = new StringBuilder("group_").append(index / GROUP_WIDTH);
+        for (int i = 1; i < depth; i++) {
+            path.append(".level_").append(i);
+        }
+        if (depth > 0) {
+            path.append(".leaf");
+        }
+        return path.append('.').append(name(index)).toString();
+    }
+
+    private static ConfigItemGroup nest(ConfigItemGroup leaf, int depth, String topName) {
+        if (depth == 0) {
+            return leaf;
+        }
+
+        ConfigItemGroup group = leaf;
+        for (int level = depth - 1; level >= 1; level--) {
+            group = new ConfigItemGroup(List.of(group), "level_" + level);
+        }
+        return new ConfigItemGroup(List.of(group), topName);
+    }
+
+    private static String name(int index) {
+        return "item_" + index;
+    }
+
+    private static ConfigItem<?> item(int index, int arraySize) {
+        String name = name(index);
+        switch (index % 6) {
+            case 0:
+                return new IntegerConfigItem(name, index, name);
+            case 1:
+                return new DoubleConfigItem(name, index / 2.0, name);
+            case 2:
+                return new BooleanConfigItem(name, index % 4 == 1, name);
+            case 3:
+                return new StringConfigItem(name, "value " + index, name);
+            case 4:
+                return new EnumConfigItem<>(name, Mode.values()[index % Mode.values().length], name);
+            default:
+                Integer[] values = new Integer[arraySize];
+                for (int i = 0; i < arraySize; i++) {
+                    values[i] = i;
+                }
+                return new ArrayConfigItem<>(name, values, name);
+        }
+    }
+}
@@ -24,6 +24,7 @@
 
 package com.oroarmor.config;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -31,19 +32,29 @@ import java.util.stream.Collectors;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.jetbrains.annotations.Nullable;
 
 
 /**
  * {@link ArrayConfigItem} stores an array of the supported types <br>
  * The current supported types are booleans, integers, doubles, strings, and
- * {@link ConfigItemGroup}
+ * enums. The {@link ConfigCodec} for the type is found once, when the item is
+ * created. <br>
+ * The array is copied on every change and the copy is published whole, so
+ * readers on other threads never see a partly written array. Arrays returned
+ * by {@link #getValue()} must not be modified.
  *
  * @param <T>
  * @author Eli Orona
  */
 public class ArrayConfigItem<T> extends ConfigItem<T[]> {
+    /**
+     * The codec for the elements, or null if the type is not supported
+     */
+    @Nullable
+    private final ConfigCodec<T> codec;
 
     /**
      * Creates a new config with the name, defaultValue, and details
@@ -74,77 +85,90 @@ public class ArrayConfigItem<T> extends ConfigItem<T[]> {
             throw new UnsupportedOperationException("ArrayConfigItems cannot be nested");
         }
         this.value = Arrays.copyOf(defaultValue, defaultValue.length);
+        this.codec = ConfigCodec.of(defaultValue[0].getClass());
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * @return The codec for the elements, or null if the type is not supported
+     */
+    @Nullable
+    public ConfigCodec<T> getCodec() {
+        return codec;
+    }
+
+    @Override
     public void fromJson(JsonElement element) {
-        for (int i = 0; i < element.getAsJsonArray().size(); i++) {
-            T newValue;
-            JsonElement arrayElement = element.getAsJsonArray().get(i);
-            switch (defaultValue[0].getClass().isEnum() ? "ENUM" : defaultValue[0].getClass().getSimpleName().toUpperCase()) {
-                case "BOOLEAN":
-                    newValue = (T) (Object) arrayElement.getAsBoolean();
-                    break;
-
-                case "INTEGER":
-                    newValue = (T) (Object) arrayElement.getAsInt();
-                    break;
-
-                case "DOUBLE":
-                    newValue = (T) (Object) arrayElement.getAsDouble();
-                    break;
-
-                case "STRING":
-                    newValue = (T) arrayElement.getAsString();
-                    break;
-
-                case "ENUM":
-                    newValue = (T) Arrays.stream(((T) defaultValue[i]).getClass().getEnumConstants()).filter(val -> val.toString().equals(arrayElement.getAsString())).findFirst().get();
-                    break;
-
-                default:
-                    return;
-            }
-            value[i] = newValue;
+        if (codec == null) {
+            return;
+        }
+
+        JsonArray array = element.getAsJsonArray();
+        T[] newValues = Arrays.copyOf(value, value.length);
+        int size = Math.min(array.size(), newValues.length);
+        for (int i = 0; i < size; i++) {
+            newValues[i] = codec.fromJson(array.get(i));
         }
-        if (value != null) {
-            setValue(value);
+        this.value = newValues;
+    }
+
+    @Override
+    public Runnable readJson(JsonReader reader) throws IOException {
+        if (codec == null) {
+            reader.skipValue();
+            return () -> {
+            };
         }
+
+        T[] newValues = Arrays.copyOf(value, value.length);
+        reader.beginArray();
+        for (int i = 0; reader.hasNext(); i++) {
+            if (i < newValues.length) {
+                newValues[i] = codec.fromJson(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endArray();
+        return () -> this.value = newValues;
     }
 
     @Override
     public void toJson(JsonObject object) {
+        if (codec == null) {
+            return;
+        }
+
         JsonArray array = new JsonArray();
         for (T t : value) {
-            JsonElement element;
-            switch (defaultValue[0].getClass().isEnum() ? "ENUM" : defaultValue[0].getClass().getSimpleName().toUpperCase()) {
-                case "BOOLEAN":
-                    element = new JsonPrimitive((Boolean) t);
-                    break;
-
-                case "INTEGER":
-                case "DOUBLE":
-                    element = new JsonPrimitive((Number) t);
-                    break;
-
-                case "STRING":
-                    element = new JsonPrimitive((String) t);
-                    break;
-
-                case "ENUM":
-                    element = new JsonPrimitive(t.toString());
-                    break;
-
-                default:
-                    return;
-            }
-
-            array.add(element);
+            array.add(codec.toJson(t));
         }
 
         object.add(this.name, array);
     }
 
+    @Override
+    public void toJson(JsonWriter writer) throws IOException {
+        if (codec == null) {
+            return;
+        }
+
+        writer.name(this.name).beginArray();
+        for (T t : value) {
+            codec.toJson(writer, t);
+        }
+        writer.endArray();
+    }
+
+    /**
+     * Stores a copy of the array
+     *
+     * @param value The value to store
+     */
+    @Override
+    protected void storeValue(T[] value) {
+        super.storeValue(Arrays.copyOf(value, value.length));
+    }
+
     @Override
     public boolean atDefaultValue() {
         return Arrays.equals(defaultValue, value);
@@ -157,12 +181,16 @@ public class ArrayConfigItem<T> extends ConfigItem<T[]> {
 
     @Override
     public String getCommandValue() {
-        return Arrays.stream(this.value).map(Object::toString).collect(Collectors.joining(","));
+        return join(this.value);
     }
 
     @Override
     public String getCommandDefaultValue() {
-        return Arrays.stream(this.defaultValue).map(Object::toString).collect(Collectors.joining(","));
+        return join(this.defaultValue);
+    }
+
+    private String join(T[] values) {
+        return Arrays.stream(values).map(t -> codec != null ? codec.toDisplayString(t) : t.toString()).collect(Collectors.joining(","));
     }
 
     /**
@@ -188,6 +216,15 @@ public class ArrayConfigItem<T> extends ConfigItem<T[]> {
      * @param position The position in the array for the value
      */
     public void setValue(T value, int position) {
-        this.value[position] = value;
+        change(() -> {
+            T[] current;
+            T[] newValues;
+            do {
+                current = this.value;
+                newValues = Arrays.copyOf(current, current.length);
+                newValues[position] = value;
+            } while (!compareAndSetValue(current, newValues));
+            return true;
+        });
     }
 }
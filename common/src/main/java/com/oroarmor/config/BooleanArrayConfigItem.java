@@ -0,0 +1,250 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.function.Consumer;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A Config item for a fixed length array of {@code boolean}s, stored in a
+ * {@link BitSet}. <br>
+ * The set is copied on every change and the copy is published whole, so
+ * readers on other threads never see a partly written set. Sets returned by
+ * {@link #getValue()} must not be modified.
+ *
+ * @author Eli Orona
+ */
+public class BooleanArrayConfigItem extends ConfigItem<BitSet> {
+    /**
+     * The number of elements
+     */
+    private final int length;
+
+    public BooleanArrayConfigItem(String name, boolean[] defaultValue, String details) {
+        this(name, defaultValue, details, null);
+    }
+
+    public BooleanArrayConfigItem(String name, boolean[] defaultValue, String details, @Nullable Consumer<ConfigItem<BitSet>> onChange) {
+        super(name, toBitSet(defaultValue), details, onChange);
+        this.length = defaultValue.length;
+        this.value = (BitSet) this.defaultValue.clone();
+    }
+
+    private static BitSet toBitSet(boolean[] values) {
+        BitSet bits = new BitSet(values.length);
+        for (int i = 0; i < values.length; i++) {
+            bits.set(i, values[i]);
+        }
+        return bits;
+    }
+
+    @Override
+    public void fromJson(JsonElement element) {
+        JsonArray array = element.getAsJsonArray();
+        BitSet newValues = (BitSet) value.clone();
+        int size = Math.min(array.size(), length);
+        for (int i = 0; i < size; i++) {
+            newValues.set(i, array.get(i).getAsBoolean());
+        }
+        this.value = newValues;
+    }
+
+    @Override
+    public Runnable readJson(JsonReader reader) throws IOException {
+        BitSet newValues = (BitSet) value.clone();
+        reader.beginArray();
+        for (int i = 0; reader.hasNext(); i++) {
+            if (i < length) {
+                newValues.set(i, reader.nextBoolean());
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endArray();
+        return () -> this.value = newValues;
+    }
+
+    @Override
+    public void toJson(JsonObject object) {
+        BitSet current = value;
+        JsonArray array = new JsonArray();
+        for (int i = 0; i < length; i++) {
+            array.add(current.get(i));
+        }
+        object.add(this.name, array);
+    }
+
+    @Override
+    public void toJson(JsonWriter writer) throws IOException {
+        BitSet current = value;
+        writer.name(this.name).beginArray();
+        for (int i = 0; i < length; i++) {
+            writer.value(current.get(i));
+        }
+        writer.endArray();
+    }
+
+    @Override
+    public <T> boolean isValidType(Class<T> clazz) {
+        return clazz == BitSet.class;
+    }
+
+    /**
+     * Stores a copy of the set, ignoring bits past the length of the item
+     *
+     * @param value The value to store
+     */
+    @Override
+    protected void storeValue(BitSet value) {
+        this.value = toStoredValue(value);
+    }
+
+    @Override
+    protected BitSet toStoredValue(BitSet value) {
+        return value.get(0, length);
+    }
+
+    /**
+     * @return The number of elements
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @param position The position in the array
+     * @return The current value at position
+     */
+    public boolean getBoolean(int position) {
+        checkPosition(position);
+        return this.value.get(position);
+    }
+
+    /**
+     * @param position The position in the array
+     * @return The default value at position
+     */
+    public boolean getDefaultBoolean(int position) {
+        checkPosition(position);
+        return this.defaultValue.get(position);
+    }
+
+    /**
+     * @return A copy of the current values
+     */
+    public boolean[] toArray() {
+        BitSet current = this.value;
+        boolean[] values = new boolean[length];
+        for (int i = current.nextSetBit(0); i >= 0 && i < length; i = current.nextSetBit(i + 1)) {
+            values[i] = true;
+        }
+        return values;
+    }
+
+    /**
+     * Sets the value at position
+     *
+     * @param position The position in the array
+     * @param value    The value to set
+     */
+    public void setBoolean(int position, boolean value) {
+        checkPosition(position);
+        change(() -> {
+            BitSet current;
+            BitSet newValues;
+            do {
+                current = this.value;
+                newValues = (BitSet) current.clone();
+                newValues.set(position, value);
+            } while (!compareAndSetValue(current, newValues));
+            return true;
+        });
+    }
+
+    /**
+     * Sets the values starting at offset
+     *
+     * @param offset The position in the array to start at
+     * @param values The values to set
+     */
+    public void setBooleans(int offset, boolean... values) {
+        checkPosition(offset);
+        if (values.length > 0) {
+            checkPosition(offset + values.length - 1);
+        }
+        change(() -> {
+            BitSet current;
+            BitSet newValues;
+            do {
+                current = this.value;
+                newValues = (BitSet) current.clone();
+                for (int i = 0; i < values.length; i++) {
+                    newValues.set(offset + i, values[i]);
+                }
+            } while (!compareAndSetValue(current, newValues));
+            return true;
+        });
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= length) {
+            throw new IndexOutOfBoundsException("Index " + position + " out of bounds for length " + length);
+        }
+    }
+
+    @Override
+    public boolean atDefaultValue() {
+        return this.defaultValue.equals(this.value);
+    }
+
+    @Override
+    public String getCommandValue() {
+        return join(this.value);
+    }
+
+    @Override
+    public String getCommandDefaultValue() {
+        return join(this.defaultValue);
+    }
+
+    private String join(BitSet values) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(values.get(i));
+        }
+        return builder.toString();
+    }
+}
@@ -24,14 +24,18 @@
 
 package com.oroarmor.config;
 
+import java.io.IOException;
 import java.util.function.Consumer;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * A Config item for booleans
+ * A Config item for booleans. Use {@link #getBoolean()} to read the value without
+ * allocating, and {@link #setBoolean(boolean)} to set it from a {@code boolean}.
  */
 public class BooleanConfigItem extends ConfigItem<Boolean> {
     public BooleanConfigItem(String name, Boolean defaultValue, String details) {
@@ -47,18 +51,67 @@ public class BooleanConfigItem extends ConfigItem<Boolean> {
         this.value = element.getAsBoolean();
     }
 
+    @Override
+    public Runnable readJson(JsonReader reader) throws IOException {
+        boolean read = reader.nextBoolean();
+        return () -> this.value = read;
+    }
+
     @Override
     public void toJson(JsonObject object) {
         object.addProperty(this.name, this.value);
     }
 
+    @Override
+    public void toJson(JsonWriter writer) throws IOException {
+        writer.name(this.name).value(getBoolean());
+    }
+
     @Override
     public <T> boolean isValidType(Class<T> clazz) {
         return clazz == Boolean.class;
     }
 
+    /**
+     * @return The current value of the config
+     */
+    public boolean getBoolean() {
+        return value;
+    }
+
+    @Override
+    public void setValue(Boolean value) {
+        setBoolean(value);
+    }
+
+    /**
+     * Sets the value of the config
+     *
+     * @param value The value to set
+     */
+    public void setBoolean(boolean value) {
+        change(() -> {
+            storeBoolean(value);
+            return true;
+        });
+    }
+
+    @Override
+    protected void storeValue(Boolean value) {
+        storeBoolean(value);
+    }
+
+    private void storeBoolean(boolean value) {
+        this.value = value;
+    }
+
+    @Override
+    public boolean atDefaultValue() {
+        return getBoolean() == this.defaultValue;
+    }
+
     @Override
     public String getCommandValue() {
-        return this.value.toString();
+        return Boolean.toString(getBoolean());
     }
 }
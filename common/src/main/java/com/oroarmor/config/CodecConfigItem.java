@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link CodecConfigItem} stores a single value of any type with a
+ * {@link ConfigCodec}. The codec is found once, from the class of the default
+ * value, so a custom type only needs a codec registered with
+ * {@link ConfigCodec#register(Class, ConfigCodec)}.
+ *
+ * @param <T> The type of the value
+ * @author Eli Orona
+ */
+public class CodecConfigItem<T> extends ConfigItem<T> {
+    /**
+     * The codec for the value
+     */
+    private final ConfigCodec<T> codec;
+
+    public CodecConfigItem(String name, T defaultValue, String details) {
+        this(name, defaultValue, details, null);
+    }
+
+    public CodecConfigItem(String name, T defaultValue, String details, @Nullable Consumer<ConfigItem<T>> onChange) {
+        super(name, defaultValue, details, onChange);
+        this.codec = ConfigCodec.of(defaultValue.getClass());
+        if (this.codec == null) {
+            throw new IllegalArgumentException("Class " + defaultValue.getClass().getSimpleName() + " has no codec");
+        }
+    }
+
+    /**
+     * @return The codec for the value
+     */
+    public ConfigCodec<T> getCodec() {
+        return codec;
+    }
+
+    @Override
+    public void fromJson(JsonElement element) {
+        this.value = codec.fromJson(element);
+    }
+
+    @Override
+    public Runnable readJson(JsonReader reader) throws IOException {
+        T read = codec.fromJson(reader);
+        return () -> this.value = read;
+    }
+
+    @Override
+    public void toJson(JsonObject object) {
+        object.add(this.name, codec.toJson(this.value));
+    }
+
+    @Override
+    public void toJson(JsonWriter writer) throws IOException {
+        codec.toJson(writer.name(this.name), this.value);
+    }
+
+    @Override
+    public <S> boolean isValidType(Class<S> clazz) {
+        return clazz.isAssignableFrom(codec.getType());
+    }
+
+    @Override
+    public String getCommandValue() {
+        return codec.toDisplayString(this.value);
+    }
+
+    @Override
+    public String getCommandDefaultValue() {
+        return codec.toDisplayString(this.defaultValue);
+    }
+}
@@ -24,20 +24,52 @@
 
 package com.oroarmor.config;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import dev.architectury.event.events.common.LifecycleEvent;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Config is a holder class for a list of {@link ConfigItemGroup}. It's main
@@ -49,12 +81,12 @@ public class Config {
     /**
      * The GSON formatter for the Config
      */
-    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
     /**
      * The list of ConfigItemGroups for the config
      */
-    private final List<ConfigItemGroup> configs;
+    private final ConfigItemList<ConfigItemGroup> configs;
 
     /**
      * The file to save and read the config from
@@ -66,15 +98,108 @@ public class Config {
      */
     private final String id;
 
+    /**
+     * Incremented every time a group or item is added to, removed from or
+     * replaced in the config or any of its groups
+     */
+    private final AtomicInteger structureVersion = new AtomicInteger();
+
+    /**
+     * Incremented every time an item in the config changes
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Held while building snapshots and committing edits
+     */
+    private final Object editLock = new Object();
+
+    /**
+     * Held shared while values are stored and their version is stamped, and
+     * exclusively while a snapshot is built, so a snapshot never sees part of
+     * a change
+     */
+    final ReadWriteLock changeLock = new ReentrantReadWriteLock();
+
+    /**
+     * The last snapshot taken
+     */
+    private volatile ConfigSnapshot snapshot;
+
+    /**
+     * The listeners registered with {@link #subscribe(ConfigItem, Executor, Consumer)}
+     */
+    private final List<ConfigSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * The delay in milliseconds before a requested save is written, or -1 if
+     * saves are written immediately
+     */
+    private volatile long saveDelay = -1;
+
+    /**
+     * True if a save has been requested and not written yet
+     */
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    /**
+     * Guards {@link #pendingSave}, {@link #shutdownHook}, {@link #serverStopFlush} and {@link #fileWatcher}
+     */
+    private final Object saveLock = new Object();
+
+    /**
+     * The scheduled background save, if there is one
+     */
+    private ScheduledFuture<?> pendingSave;
+
+    /**
+     * Flushes pending saves when the JVM exits
+     */
+    private Thread shutdownHook;
+
+    /**
+     * Flushes pending saves when the server stops
+     */
+    private LifecycleEvent.ServerState serverStopFlush;
+
+    /**
+     * Watches the file for changes, if enabled
+     */
+    private ConfigFileWatcher fileWatcher;
+
+    /**
+     * The SHA-256 hash of the contents last read from or written to the file
+     */
+    private byte[] lastContentHash;
+
+    /**
+     * The size of the file when it was last read or written
+     */
+    private long lastFileSize = -1;
+
+    /**
+     * The modified time of the file when it was last read or written
+     */
+    private FileTime lastFileModified;
+
+    /**
+     * Counters and timings for reads, writes, lookups and changes
+     */
+    private final ConfigMetrics metrics = new ConfigMetrics();
+
     /**
      * Creates a new config
      *
-     * @param configs    The list of {@link ConfigItemGroup} for the config
+     * @param configs    The list of {@link ConfigItemGroup} for the config, which is copied
      * @param configFile The file to read and save from
      * @param id         The id of the config, should be the mod id
      */
     public Config(List<ConfigItemGroup> configs, File configFile, String id) {
-        this.configs = configs;
+        this.configs = new ConfigItemList<>(configs, group -> group.config = this, group -> {
+            if (group.config == this) {
+                group.config = null;
+            }
+        }, this::structureChanged);
         this.configFile = configFile;
         this.id = id;
     }
@@ -88,23 +213,309 @@ public class Config {
 
     /**
      * Reads the config from the file. If any changes are made and not saved this
-     * will overwrite them.
+     * will overwrite them. The read is skipped if the file has not changed since
+     * it was last read or written and the config still matches it. Nothing is
+     * set unless the whole file parses.
      */
     public void readConfigFromFile() {
-        try (FileInputStream stream = new FileInputStream(configFile)) {
-            byte[] bytes = new byte[stream.available()];
-            stream.read(bytes);
-            String file = new String(bytes);
-            JsonObject parsed = new JsonParser().parse(file).getAsJsonObject();
-            for (ConfigItemGroup cig : configs) {
-                cig.fromJson(parsed.get(cig.getName()));
-            }
-        } catch (FileNotFoundException e) {
-            saveConfigToFile();
+        try {
+            load();
         } catch (Exception e) {
             e.printStackTrace();
         }
+    }
+
+    /**
+     * Reads the config from the file like {@link #readConfigFromFile()}, but
+     * any failure to read or parse the file is thrown to the caller.
+     *
+     * @throws IOException If the file cannot be read
+     * @throws com.google.gson.JsonParseException If the file cannot be parsed
+     */
+    synchronized void load() throws IOException {
+        if (lastContentHash != null && isFileUnchanged() && Arrays.equals(hashContents(), lastContentHash)) {
+            metrics.skippedReads.increment();
+            return;
+        }
 
+        MessageDigest digest = newDigest();
+        ConfigEvents.Read event = new ConfigEvents.Read();
+        event.begin();
+        long start = System.nanoTime();
+        try (DigestInputStream stream = new DigestInputStream(new FileInputStream(configFile), digest)) {
+            readContents(stream);
+            // Include anything after the root object in the hash
+            stream.transferTo(OutputStream.nullOutputStream());
+        } catch (FileNotFoundException e) {
+            saveConfigToFile();
+            return;
+        }
+        metrics.readTime.record(System.nanoTime() - start);
+        metrics.performedReads.increment();
+        recordFile(digest.digest());
+        if (event.shouldCommit()) {
+            event.set(this, configFile.getPath(), lastFileSize);
+            event.commit();
+        }
+    }
+
+    private void readContents(InputStream stream) throws IOException {
+        List<Runnable> staged = readGroups(stream);
+        Lock lock = changeLock.readLock();
+        lock.lock();
+        try {
+            staged.forEach(Runnable::run);
+            markAllChanged();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads every group in the stream without setting anything, so that a file
+     * that fails to parse part way through leaves the config unchanged.
+     */
+    private List<Runnable> readGroups(InputStream stream) throws IOException {
+        List<Runnable> staged = new ArrayList<>();
+        JsonReader reader = new JsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        reader.setLenient(true);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            ConfigItemGroup group = getGroup(reader.nextName());
+            if (group == null) {
+                reader.skipValue();
+            } else {
+                staged.add(group.readJson(reader));
+            }
+        }
+        reader.endObject();
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonSyntaxException("Did not consume the entire document.");
+        }
+        return staged;
+    }
+
+    /**
+     * Returns an immutable snapshot of every value in the config. If nothing
+     * has changed since the last snapshot, the same snapshot is returned, and
+     * groups that have not changed are shared with the last snapshot.
+     *
+     * @return A snapshot of the current values
+     */
+    public ConfigSnapshot snapshot() {
+        ConfigSnapshot current = this.snapshot;
+        if (current != null && current.isCurrent()) {
+            return current;
+        }
+
+        synchronized (editLock) {
+            current = this.snapshot;
+            if (current == null || !current.isCurrent()) {
+                Lock lock = changeLock.writeLock();
+                lock.lock();
+                try {
+                    current = ConfigSnapshot.create(this, current);
+                } finally {
+                    lock.unlock();
+                }
+                this.snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Changes several items at once. The changes made in the block are clamped
+     * and then set together under one new {@link #getVersion() version}, so a
+     * {@link #snapshot()} sees either none or all of them. After they are set,
+     * the onChange of each changed item is run once and a single save is
+     * {@link #requestSave() requested}. If the block throws, nothing is set.
+     *
+     * @param block The changes to make
+     */
+    public void edit(Consumer<ConfigTransaction> block) {
+        ConfigTransaction transaction = new ConfigTransaction(this);
+        block.accept(transaction);
+
+        List<ConfigItem<?>> changed;
+        synchronized (editLock) {
+            Lock lock = changeLock.readLock();
+            lock.lock();
+            try {
+                changed = transaction.commit();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        for (ConfigItem<?> item : changed) {
+            item.publishChange(this);
+        }
+        requestSave();
+    }
+
+    /**
+     * Listens for changes to an item, or to any item in a group. The listener
+     * runs on the executor, and an item that changes several times before the
+     * listener runs is only passed to it once.
+     *
+     * @param item     The item or group to listen to
+     * @param executor The executor to run the listener on
+     * @param listener The listener, which is given the changed item
+     * @return The subscription, which can be cancelled
+     */
+    public ConfigSubscription subscribe(ConfigItem<?> item, Executor executor, Consumer<ConfigItem<?>> listener) {
+        return addSubscription(item, executor, listener);
+    }
+
+    /**
+     * Listens for changes to the item or group at path, or to every item if
+     * the path is empty
+     *
+     * @param path     The path of the item or group, such as {@code "group.nested"}
+     * @param executor The executor to run the listener on
+     * @param listener The listener, which is given the changed item
+     * @return The subscription, which can be cancelled
+     * @throws IllegalArgumentException If the path does not exist
+     * @see #subscribe(ConfigItem, Executor, Consumer)
+     */
+    public ConfigSubscription subscribe(String path, Executor executor, Consumer<ConfigItem<?>> listener) {
+        ConfigItem<?> item = null;
+        if (!path.isEmpty()) {
+            item = getConfig(path);
+            if (item == null) {
+                throw new IllegalArgumentException("Path: " + path + " does not exist");
+            }
+        }
+
+        return addSubscription(item, executor, listener);
+    }
+
+    private ConfigSubscription addSubscription(@Nullable ConfigItem<?> item, Executor executor, Consumer<ConfigItem<?>> listener) {
+        ConfigSubscription subscription = new ConfigSubscription(this, item, executor, listener);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    void unsubscribe(ConfigSubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    /**
+     * Passes the changed item to every listener of it or the groups above it
+     *
+     * @param item The item that changed
+     */
+    void fireChanged(ConfigItem<?> item) {
+        metrics.changes.increment();
+        for (ConfigSubscription subscription : subscriptions) {
+            ConfigItem<?> target = subscription.getTarget();
+            if (target == null || target == item || target instanceof ConfigItemGroup && isIn(item, (ConfigItemGroup) target)) {
+                subscription.changed(item);
+            }
+        }
+    }
+
+    private static boolean isIn(ConfigItem<?> item, ConfigItemGroup group) {
+        for (ConfigItemGroup parent = item.parent; parent != null; parent = parent.parent) {
+            if (parent == group) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The version of the config, which increases every time a value changes
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @return The version of the structure of the config, which increases every
+     * time a group or item is added, removed or replaced
+     */
+    int getStructureVersion() {
+        return structureVersion.get();
+    }
+
+    /**
+     * Records a change to the groups or items in the config
+     */
+    void structureChanged() {
+        structureVersion.incrementAndGet();
+    }
+
+    /**
+     * @return The next version, for a change that was just made
+     */
+    long nextVersion() {
+        return version.incrementAndGet();
+    }
+
+    /**
+     * Marks every group as changed, after values were set without going through
+     * {@link ConfigItem#setValue(Object)}
+     */
+    private void markAllChanged() {
+        long newVersion = nextVersion();
+        for (ConfigItemGroup group : configs) {
+            markChanged(group, newVersion);
+        }
+    }
+
+    private static void markChanged(ConfigItemGroup group, long version) {
+        group.version = version;
+        for (ConfigItem<?> item : group.getConfigs()) {
+            if (item instanceof ConfigItemGroup) {
+                markChanged((ConfigItemGroup) item, version);
+            }
+        }
+    }
+
+    /**
+     * Gets the top level group with the name
+     *
+     * @param name The name of the group
+     * @return The group, or null if there is none
+     */
+    public ConfigItemGroup getGroup(String name) {
+        return configs.getByName(name);
+    }
+
+    /**
+     * Gets the group or item at the path, looking up each name in the path by
+     * the same index as {@link ConfigItemGroup#getConfig(String)}
+     *
+     * @param path The dotted path, ex: {@code group.nested} or {@code group.nested.item}
+     * @return The group or item, or null if it does not exist
+     */
+    public ConfigItem<?> getConfig(String path) {
+        int dot = path.indexOf('.');
+        ConfigItem<?> item = getGroup(dot < 0 ? path : path.substring(0, dot));
+        while (dot >= 0 && item instanceof ConfigItemGroup) {
+            int start = dot + 1;
+            dot = path.indexOf('.', start);
+            item = ((ConfigItemGroup) item).getConfig(dot < 0 ? path.substring(start) : path.substring(start, dot));
+        }
+        return dot < 0 ? item : null;
+    }
+
+    /**
+     * Gets the config item at path. Groups are not included, only the items
+     * inside of them.
+     *
+     * @param path The dotted path to the item, ex: {@code group.nested.item}
+     * @return The config item, or null if it does not exist
+     */
+    public ConfigItem<?> getConfigItem(String path) {
+        ConfigItem<?> item = getConfig(path);
+        return item instanceof ConfigItemGroup ? null : item;
     }
 
     /**
@@ -115,18 +526,26 @@ public class Config {
      * @param <T>   The type to get
      * @return The value if it exists
      */
-    @SuppressWarnings("unchecked")
     public <T> T getValue(String path, Class<T> clazz) {
-        String[] splitPath = path.split("\\.");
+        metrics.getValueCalls.increment();
+        if (!ConfigEvents.GetValue.isRecording()) {
+            return lookUpValue(path, clazz);
+        }
 
-        ConfigItem<?> selectedItem = getConfigs().stream().filter(cig -> cig.name.equals(splitPath[0])).findFirst().get();
-        try {
-            LinkedList<String> paths = new LinkedList<>(Arrays.asList(splitPath));
-            while (selectedItem instanceof ConfigItemGroup) {
-                paths.removeFirst();
-                selectedItem = ((ConfigItemGroup) selectedItem).getConfigs().stream().filter(ci -> ci.name.equals(paths.getFirst())).findFirst().get();
-            }
-        } catch (NoSuchElementException e) {
+        ConfigEvents.GetValue event = new ConfigEvents.GetValue();
+        event.begin();
+        T value = lookUpValue(path, clazz);
+        if (event.shouldCommit()) {
+            event.set(this, path, 0);
+            event.commit();
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T lookUpValue(String path, Class<T> clazz) {
+        ConfigItem<?> selectedItem = getConfigItem(path);
+        if (selectedItem == null) {
             System.err.printf("Path: %s does not exist\n", path);
             return null;
         }
@@ -139,21 +558,399 @@ public class Config {
     }
 
     /**
-     * Saves the current config to the file.
+     * Resolves the item at path once and returns a handle to it. Reading the
+     * handle does not repeat the lookup or the type check.
+     *
+     * @param path  The path to search
+     * @param clazz The class of the type to get
+     * @param <T>   The type to get
+     * @return A {@link ConfigKey} bound to the item
+     * @throws IllegalArgumentException If the path does not exist or the type is incorrect
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ConfigKey<T> key(String path, Class<T> clazz) {
+        ConfigItem<?> selectedItem = getConfigItem(path);
+        if (selectedItem == null) {
+            throw new IllegalArgumentException("Path: " + path + " does not exist");
+        }
+
+        if (!selectedItem.isValidType(clazz)) {
+            throw new IllegalArgumentException("Incorrect type " + clazz.getName() + " for " + path + ". Correct class is " + selectedItem.getValue().getClass().getSimpleName());
+        }
+
+        return new ConfigKey<>(path, (ConfigItem<T>) selectedItem);
+    }
+
+    /**
+     * Saves the current config to the file. The write is skipped if the file has
+     * not changed since it was last read or written and already holds the same
+     * contents.
+     */
+    public synchronized void saveConfigToFile() {
+        try {
+            ConfigEvents.Save event = new ConfigEvents.Save();
+            event.begin();
+            long start = System.nanoTime();
+            // Serialized once, so the bytes that are hashed are the bytes that are written
+            ByteArrayOutputStream contents = new ByteArrayOutputStream((int) Math.max(lastFileSize, 32));
+            writeContents(new OutputStreamWriter(contents, StandardCharsets.UTF_8));
+            byte[] bytes = contents.toByteArray();
+            byte[] hash = newDigest().digest(bytes);
+            if (Arrays.equals(hash, lastContentHash) && isFileUnchanged()) {
+                metrics.skippedWrites.increment();
+                return;
+            }
+
+            Files.write(configFile.toPath(), bytes);
+            metrics.writeTime.record(System.nanoTime() - start);
+            metrics.performedWrites.increment();
+            recordFile(hash);
+            metrics.bytesWritten.add(lastFileSize);
+            if (event.shouldCommit()) {
+                event.set(this, configFile.getPath(), lastFileSize);
+                event.commit();
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void writeContents(Writer out) throws IOException {
+        try (JsonWriter writer = GSON.newJsonWriter(out)) {
+            // Matches Gson#toJson(JsonElement) so the output is the same as writing a tree
+            writer.setLenient(true);
+            writer.beginObject();
+            for (ConfigItemGroup c : configs) {
+                c.toJson(writer);
+            }
+            writer.endObject();
+        }
+    }
+
+    /**
+     * Hashes the contents that {@link #saveConfigToFile()} would write, without
+     * keeping them in memory
+     */
+    private byte[] hashContents() throws IOException {
+        MessageDigest digest = newDigest();
+        writeContents(new OutputStreamWriter(new DigestOutputStream(OutputStream.nullOutputStream(), digest), StandardCharsets.UTF_8));
+        return digest.digest();
+    }
+
+    private boolean isFileUnchanged() throws IOException {
+        try {
+            BasicFileAttributes attributes = readFileAttributes();
+            return attributes.size() == lastFileSize && attributes.lastModifiedTime().equals(lastFileModified);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static boolean isSameFile(BasicFileAttributes first, BasicFileAttributes second) {
+        return first.size() == second.size() && first.lastModifiedTime().equals(second.lastModifiedTime());
+    }
+
+    private BasicFileAttributes readFileAttributes() throws IOException {
+        return Files.readAttributes(configFile.toPath(), BasicFileAttributes.class);
+    }
+
+    private void recordFile(byte[] hash) throws IOException {
+        recordFile(hash, readFileAttributes());
+    }
+
+    /**
+     * Records the hash of the file's contents along with the attributes the
+     * file had when those contents were read or written
+     */
+    private void recordFile(byte[] hash, BasicFileAttributes attributes) {
+        lastContentHash = hash;
+        lastFileSize = attributes.size();
+        lastFileModified = attributes.lastModifiedTime();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return The counters and timings for this config
+     */
+    public ConfigMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return The number of times the file was read
+     */
+    public long getPerformedReads() {
+        return metrics.getPerformedReads();
+    }
+
+    /**
+     * @return The number of reads skipped because the file had not changed
+     */
+    public long getSkippedReads() {
+        return metrics.getSkippedReads();
+    }
+
+    /**
+     * @return The number of times the file was written
+     */
+    public long getPerformedWrites() {
+        return metrics.getPerformedWrites();
+    }
+
+    /**
+     * @return The number of writes skipped because the file already had the same contents
+     */
+    public long getSkippedWrites() {
+        return metrics.getSkippedWrites();
+    }
+
+    /**
+     * Watches the config file and reloads it when it is changed outside the game.
+     * The file is parsed on a background thread, and only the items whose values
+     * changed are set on the owner executor, running their onChange once each.
+     *
+     * @param owner    The executor that owns the config values, often the server or client
+     * @param debounce The time to wait for more changes to the file before reloading
+     * @param unit     The unit of the debounce
      */
-    public void saveConfigToFile() {
-        JsonObject object = new JsonObject();
-        for (ConfigItemGroup c : configs) {
-            c.toJson(object);
+    public void watchFile(Executor owner, long debounce, TimeUnit unit) {
+        synchronized (saveLock) {
+            if (fileWatcher != null) {
+                throw new IllegalStateException("The file for " + id + " is already being watched");
+            }
+
+            try {
+                fileWatcher = new ConfigFileWatcher(this, configFile.toPath(), owner, unit.toMillis(debounce));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
         }
+    }
 
-        try (FileOutputStream stream = new FileOutputStream(configFile)) {
-            stream.write(GSON.toJson(object).getBytes());
+    /**
+     * Stops watching the config file
+     */
+    public void stopWatchingFile() {
+        synchronized (saveLock) {
+            if (fileWatcher != null) {
+                try {
+                    fileWatcher.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                fileWatcher = null;
+            }
+        }
+    }
+
+    /**
+     * Parses the file if it changed since it was last read or written, and then
+     * applies the changed values on the owner executor. The values are dropped
+     * if the config was read or saved, or the file changed again, in between.
+     *
+     * @param owner The executor to apply the values on
+     */
+    void reloadChangedItems(Executor owner) {
+        try {
+            byte[] previousHash;
+            synchronized (this) {
+                if (isFileUnchanged()) {
+                    return;
+                }
+                previousHash = lastContentHash;
+            }
+
+            BasicFileAttributes attributes = readFileAttributes();
+            MessageDigest digest = newDigest();
+            JsonElement parsed;
+            long start = System.nanoTime();
+            try (DigestInputStream stream = new DigestInputStream(new FileInputStream(configFile), digest)) {
+                JsonReader reader = new JsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+                reader.setLenient(true);
+                parsed = JsonParser.parseReader(reader);
+                stream.transferTo(OutputStream.nullOutputStream());
+            }
+            metrics.readTime.record(System.nanoTime() - start);
+            if (!parsed.isJsonObject()) {
+                return;
+            }
+
+            byte[] hash = digest.digest();
+            owner.execute(() -> {
+                synchronized (this) {
+                    try {
+                        // A read or save since the parse, or another edit to the file, makes the parsed values stale.
+                        // Another edit is picked up by the watcher's next event.
+                        if (lastContentHash != previousHash || !isSameFile(attributes, readFileAttributes())) {
+                            return;
+                        }
+                        applyChanges(parsed.getAsJsonObject());
+                        metrics.performedReads.increment();
+                        metrics.reloads.increment();
+                        recordFile(hash, attributes);
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                    }
+                }
+            });
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Sets every item whose value in the json is different from its current
+     * value, and runs the item's onChange
+     *
+     * @param root The json for the whole config
+     * @return The number of items that changed
+     */
+    int applyChanges(JsonObject root) {
+        int changed = 0;
+        for (ConfigItemGroup group : configs) {
+            JsonElement element = root.get(group.getName());
+            if (element != null && element.isJsonObject()) {
+                changed += applyChanges(group, element.getAsJsonObject());
+            }
+        }
+        return changed;
+    }
+
+    private static int applyChanges(ConfigItemGroup group, JsonObject object) {
+        int changed = 0;
+        for (ConfigItem<?> item : group.getConfigs()) {
+            JsonElement element = object.get(item.getName());
+            if (element == null) {
+                continue;
+            }
+
+            if (item instanceof ConfigItemGroup) {
+                if (element.isJsonObject()) {
+                    changed += applyChanges((ConfigItemGroup) item, element.getAsJsonObject());
+                }
+                continue;
+            }
+
+            JsonObject current = new JsonObject();
+            item.toJson(current);
+            if (element.equals(current.get(item.getName()))) {
+                continue;
+            }
+
+            try {
+                item.change(() -> {
+                    item.fromJson(element);
+                    return true;
+                });
+                changed++;
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Requests that the config is saved. If asynchronous saving is enabled,
+     * the save is written on a background thread after the delay, and any
+     * other requests made before then are written with it. Otherwise the config
+     * is saved immediately.
+     */
+    public void requestSave() {
+        long delay = this.saveDelay;
+        if (delay < 0) {
+            saveConfigToFile();
+            return;
+        }
+
+        dirty.set(true);
+        synchronized (saveLock) {
+            if (pendingSave == null) {
+                pendingSave = ConfigExecutors.IO.schedule(this::writePendingSave, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Immediately writes any save requested through {@link #requestSave()}
+     * that has not been written yet.
+     */
+    public void flush() {
+        ScheduledFuture<?> pending;
+        synchronized (saveLock) {
+            pending = pendingSave;
+            pendingSave = null;
+        }
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        if (dirty.getAndSet(false)) {
+            saveConfigToFile();
+        }
+    }
+
+    /**
+     * Enables asynchronous saving for {@link #requestSave()}. Pending saves are
+     * flushed when the server stops and when the JVM shuts down.
+     *
+     * @param delay The time to wait for more changes before writing
+     * @param unit  The unit of the delay
+     */
+    public void enableAsyncSaving(long delay, TimeUnit unit) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("Save delay cannot be negative");
+        }
+
+        synchronized (saveLock) {
+            this.saveDelay = unit.toMillis(delay);
+            if (shutdownHook == null) {
+                shutdownHook = new Thread(this::flush, "Oro Config Flush " + id);
+                Runtime.getRuntime().addShutdownHook(shutdownHook);
+                serverStopFlush = server -> flush();
+                LifecycleEvent.SERVER_STOPPING.register(serverStopFlush);
+            }
+        }
+    }
+
+    /**
+     * Disables asynchronous saving, writing any pending save first
+     */
+    public void disableAsyncSaving() {
+        synchronized (saveLock) {
+            this.saveDelay = -1;
+            if (shutdownHook != null) {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+                shutdownHook = null;
+                LifecycleEvent.SERVER_STOPPING.unregister(serverStopFlush);
+                serverStopFlush = null;
+            }
+        }
+        flush();
+    }
+
+    /**
+     * @return True if {@link #requestSave()} writes on a background thread
+     */
+    public boolean isAsyncSaving() {
+        return saveDelay >= 0;
+    }
+
+    private void writePendingSave() {
+        synchronized (saveLock) {
+            pendingSave = null;
+        }
+        if (dirty.getAndSet(false)) {
+            saveConfigToFile();
+        }
+    }
+
     /**
      * Returns a string representation of the config and all the sub configs
      */
@@ -0,0 +1,403 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link ConfigCodec} reads, writes, parses and displays one value of a
+ * supported type. The codec for a type is found once with {@link #of(Class)}
+ * and kept, so reading and writing do not look at the type of each value.
+ * Codecs for new types are added with {@link #register(Class, ConfigCodec)},
+ * and are then supported by {@link ArrayConfigItem}, {@link SetConfigItem}
+ * and {@link CodecConfigItem}.
+ *
+ * @param <T> The type of the value
+ * @author Eli Orona
+ */
+public abstract class ConfigCodec<T> {
+    /**
+     * The kinds of values with a codec
+     */
+    public enum Kind {
+        BOOLEAN,
+        INTEGER,
+        DOUBLE,
+        STRING,
+        ENUM,
+        /**
+         * A type with a codec registered with {@link #register(Class, ConfigCodec)}
+         */
+        CUSTOM
+    }
+
+    public static final ConfigCodec<Boolean> BOOLEAN = new ConfigCodec<Boolean>(Kind.BOOLEAN, Boolean.class) {
+        @Override
+        public Boolean fromJson(JsonElement element) {
+            return element.getAsBoolean();
+        }
+
+        @Override
+        public Boolean fromJson(JsonReader reader) throws IOException {
+            return reader.nextBoolean();
+        }
+
+        @Override
+        public Boolean fromString(String value) {
+            if (value.equals("true") || value.equals("false")) {
+                return Boolean.valueOf(value);
+            }
+            throw new IllegalArgumentException(value + " is not a boolean");
+        }
+
+        @Override
+        public JsonElement toJson(Boolean value) {
+            return new JsonPrimitive(value);
+        }
+
+        @Override
+        public void toJson(JsonWriter writer, Boolean value) throws IOException {
+            writer.value(value.booleanValue());
+        }
+    };
+
+    public static final ConfigCodec<Integer> INTEGER = new ConfigCodec<Integer>(Kind.INTEGER, Integer.class) {
+        @Override
+        public Integer fromJson(JsonElement element) {
+            return element.getAsInt();
+        }
+
+        @Override
+        public Integer fromJson(JsonReader reader) throws IOException {
+            return reader.nextInt();
+        }
+
+        @Override
+        public Integer fromString(String value) {
+            return Integer.valueOf(value);
+        }
+
+        @Override
+        public JsonElement toJson(Integer value) {
+            return new JsonPrimitive(value);
+        }
+
+        @Override
+        public void toJson(JsonWriter writer, Integer value) throws IOException {
+            writer.value(value.intValue());
+        }
+    };
+
+    public static final ConfigCodec<Double> DOUBLE = new ConfigCodec<Double>(Kind.DOUBLE, Double.class) {
+        @Override
+        public Double fromJson(JsonElement element) {
+            return element.getAsDouble();
+        }
+
+        @Override
+        public Double fromJson(JsonReader reader) throws IOException {
+            return reader.nextDouble();
+        }
+
+        @Override
+        public Double fromString(String value) {
+            return Double.valueOf(value);
+        }
+
+        @Override
+        public JsonElement toJson(Double value) {
+            return new JsonPrimitive(value);
+        }
+
+        @Override
+        public void toJson(JsonWriter writer, Double value) throws IOException {
+            writer.value(value);
+        }
+    };
+
+    public static final ConfigCodec<String> STRING = new ConfigCodec<String>(Kind.STRING, String.class) {
+        @Override
+        public String fromJson(JsonElement element) {
+            return element.getAsString();
+        }
+
+        @Override
+        public String fromJson(JsonReader reader) throws IOException {
+            return reader.nextString();
+        }
+
+        @Override
+        public String fromString(String value) {
+            return value;
+        }
+
+        @Override
+        public JsonElement toJson(String value) {
+            return new JsonPrimitive(value);
+        }
+
+        @Override
+        public void toJson(JsonWriter writer, String value) throws IOException {
+            writer.value(value);
+        }
+    };
+
+    /**
+     * The codecs for each enum, created the first time they are needed
+     */
+    private static final ClassValue<EnumCodec<?>> ENUMS = new ClassValue<EnumCodec<?>>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected EnumCodec<?> computeValue(Class<?> type) {
+            return new EnumCodec(type);
+        }
+    };
+
+    /**
+     * The codecs registered for each type
+     */
+    private static final Map<Class<?>, ConfigCodec<?>> CODECS = new ConcurrentHashMap<>();
+
+    /**
+     * The codec found for each type, including subclasses of registered
+     * types. Replaced whenever a codec is registered.
+     */
+    private static volatile ClassValue<Optional<ConfigCodec<?>>> lookup = newLookup();
+
+    static {
+        register(Boolean.class, BOOLEAN);
+        register(Integer.class, INTEGER);
+        register(Double.class, DOUBLE);
+        register(String.class, STRING);
+    }
+
+    private final Kind kind;
+    private final Class<T> type;
+
+    private ConfigCodec(Kind kind, Class<T> type) {
+        this.kind = kind;
+        this.type = type;
+    }
+
+    /**
+     * Creates a codec for a custom type
+     *
+     * @param type The type of the values
+     */
+    protected ConfigCodec(Class<T> type) {
+        this(Kind.CUSTOM, type);
+    }
+
+    /**
+     * Registers the codec for a type. The codec is also used for subclasses
+     * of the type that do not have their own codec.
+     *
+     * @param type  The type of the values
+     * @param codec The codec
+     * @param <T>   The type of the values
+     */
+    public static <T> void register(Class<T> type, ConfigCodec<T> codec) {
+        if (CODECS.putIfAbsent(type, codec) != null) {
+            throw new IllegalArgumentException("Duplicate codecs for " + type.getSimpleName());
+        }
+        lookup = newLookup();
+    }
+
+    private static ClassValue<Optional<ConfigCodec<?>>> newLookup() {
+        return new ClassValue<Optional<ConfigCodec<?>>>() {
+            @Override
+            protected Optional<ConfigCodec<?>> computeValue(Class<?> type) {
+                return Optional.ofNullable(find(type));
+            }
+        };
+    }
+
+    private static ConfigCodec<?> find(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            ConfigCodec<?> codec = CODECS.get(current);
+            if (codec != null) {
+                return codec;
+            }
+            if (current.isEnum()) {
+                return ENUMS.get(current);
+            }
+        }
+
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Class<?> superInterface : current.getInterfaces()) {
+                ConfigCodec<?> codec = find(superInterface);
+                if (codec != null) {
+                    return codec;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the codec for the type, or the codec of its closest registered
+     * superclass or interface. The result is cached for each type.
+     *
+     * @param type The type of the values
+     * @param <T>  The type of the values
+     * @return The codec, or null if the type is not supported
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @Nullable ConfigCodec<T> of(Class<?> type) {
+        return (ConfigCodec<T>) lookup.get(type).orElse(null);
+    }
+
+    /**
+     * Gets the codec for an enum
+     *
+     * @param type The enum
+     * @param <T>  The enum
+     * @return The codec
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Enum<T>> EnumCodec<T> ofEnum(Class<T> type) {
+        return (EnumCodec<T>) ENUMS.get(type);
+    }
+
+    /**
+     * @return The kind of values
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return The type of the values
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    public abstract T fromJson(JsonElement element);
+
+    public abstract T fromJson(JsonReader reader) throws IOException;
+
+    /**
+     * Parses a value from the text typed by a player, in the same format as
+     * {@link #toDisplayString(Object)}
+     *
+     * @param value The text
+     * @return The value
+     * @throws IllegalArgumentException If the text is not a valid value
+     */
+    public abstract T fromString(String value);
+
+    public abstract JsonElement toJson(T value);
+
+    public abstract void toJson(JsonWriter writer, T value) throws IOException;
+
+    /**
+     * Gets the text shown to players for the value, which can be read back
+     * with {@link #fromString(String)}
+     *
+     * @param value The value
+     * @return The text for the value
+     */
+    public String toDisplayString(T value) {
+        return String.valueOf(value);
+    }
+
+    /**
+     * The codec for an enum, which stores each value as its
+     * {@link Enum#toString()}
+     *
+     * @param <T> The enum
+     */
+    public static final class EnumCodec<T extends Enum<T>> extends ConfigCodec<T> {
+        /**
+         * Every constant by its {@link Enum#toString()}
+         */
+        private final Map<String, T> constants = new HashMap<>();
+
+        private EnumCodec(Class<T> type) {
+            super(Kind.ENUM, type);
+            for (T constant : type.getEnumConstants()) {
+                constants.putIfAbsent(constant.toString(), constant);
+            }
+        }
+
+        /**
+         * Gets the constant with the name
+         *
+         * @param name The {@link Enum#toString()} of the constant
+         * @return The constant
+         * @throws IllegalArgumentException If there is no constant with the name
+         */
+        public T parse(String name) {
+            T constant = constants.get(name);
+            if (constant == null) {
+                throw new IllegalArgumentException("No constant " + name + " in " + getType().getSimpleName());
+            }
+            return constant;
+        }
+
+        /**
+         * @return The constants of the enum
+         */
+        public T[] getConstants() {
+            return getType().getEnumConstants();
+        }
+
+        @Override
+        public T fromJson(JsonElement element) {
+            return parse(element.getAsString());
+        }
+
+        @Override
+        public T fromJson(JsonReader reader) throws IOException {
+            return parse(reader.nextString());
+        }
+
+        @Override
+        public T fromString(String value) {
+            return parse(value);
+        }
+
+        @Override
+        public JsonElement toJson(T value) {
+            return new JsonPrimitive(value.toString());
+        }
+
+        @Override
+        public void toJson(JsonWriter writer, T value) throws IOException {
+            writer.value(value.toString());
+        }
+    }
+}
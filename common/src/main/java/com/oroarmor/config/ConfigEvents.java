@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oroarmor.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Java Flight Recorder events for config reads, saves, lookups and changes.
+ * They are disabled by default and are enabled in a recording by name, such
+ * as with <code>-XX:StartFlightRecording:settings=profile,+com.oroarmor.config.Save#enabled=true</code>.
+ * While disabled, creating and committing an event does nothing, and the
+ * fields are only filled in when {@link Event#shouldCommit()} is true.
+ *
+ * @author Eli Orona
+ */
+final class ConfigEvents {
+    private ConfigEvents() {
+    }
+
+    @Category("Oro Config")
+    @Enabled(false)
+    @StackTrace(false)
+    abstract static class ConfigEvent extends Event {
+        @Label("Config ID")
+        String configId;
+
+        @Label("Path")
+        String path;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        void set(@Nullable Config config, @Nullable String path, long bytes) {
+            this.configId = config != null ? config.getID() : null;
+            this.path = path;
+            this.bytes = bytes;
+        }
+    }
+
+    @Name("com.oroarmor.config.Read")
+    @Label("Config Read")
+    @Description("Reading and parsing a config file")
+    static final class Read extends ConfigEvent {
+    }
+
+    @Name("com.oroarmor.config.Save")
+    @Label("Config Save")
+    @Description("Serializing and writing a config file")
+    static final class Save extends ConfigEvent {
+    }
+
+    @Name("com.oroarmor.config.GetValue")
+    @Label("Config Get Value")
+    @Description("Looking up a config value by path")
+    static final class GetValue extends ConfigEvent {
+        private static final EventType TYPE = EventType.getEventType(GetValue.class);
+
+        /**
+         * Lookups are too frequent to create an event for each while the
+         * event is disabled, so callers check this first
+         *
+         * @return True if a recording has enabled the event
+         */
+        static boolean isRecording() {
+            return TYPE.isEnabled();
+        }
+    }
+
+    @Name("com.oroarmor.config.SetValue")
+    @Label("Config Set Value")
+    @Description("Running the onChange and listeners of a changed config item")
+    static final class SetValue extends ConfigEvent {
+    }
+}
@@ -24,10 +24,19 @@
 
 package com.oroarmor.config;
 
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -40,12 +49,31 @@ import org.jetbrains.annotations.Nullable;
  * @author Eli Orona
  */
 public abstract class ConfigItem<T> {
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(ConfigItem.class, "value", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     protected final String name;
     protected final String details;
     protected final T defaultValue;
     @Nullable
     protected final Consumer<ConfigItem<T>> onChange;
-    protected T value;
+    /**
+     * The current value. This is volatile so that a value set on one thread is
+     * seen by readers on any other thread
+     */
+    protected volatile T value;
+
+    /**
+     * The group this item is in, set when it is added to one
+     */
+    volatile ConfigItemGroup parent;
 
     /**
      * Creates a new config with the name, defaultValue, and details
@@ -86,6 +114,32 @@ public abstract class ConfigItem<T> {
      */
     public abstract void fromJson(JsonElement element);
 
+    /**
+     * Reads and sets the {@link ConfigItem} from a JSON reader positioned at its
+     * value, using {@link #readJson(JsonReader)}
+     *
+     * @param reader The JSON reader
+     * @throws IOException If the value cannot be read
+     */
+    public void fromJson(JsonReader reader) throws IOException {
+        readJson(reader).run();
+    }
+
+    /**
+     * Reads the value from a JSON reader positioned at it without setting it,
+     * so that a whole file can be read before anything is set. By default this
+     * reads the value into a {@link JsonElement} for {@link #fromJson(JsonElement)},
+     * override this to read the tokens directly.
+     *
+     * @param reader The JSON reader
+     * @return Sets the value that was read
+     * @throws IOException If the value cannot be read
+     */
+    public Runnable readJson(JsonReader reader) throws IOException {
+        JsonElement element = JsonParser.parseReader(reader);
+        return () -> fromJson(element);
+    }
+
     /**
      * Writes self to the json object
      *
@@ -93,6 +147,23 @@ public abstract class ConfigItem<T> {
      */
     public abstract void toJson(JsonObject object);
 
+    /**
+     * Writes self to the JSON writer as a named value. By default this writes
+     * the output of {@link #toJson(JsonObject)}, override this to write the
+     * tokens directly.
+     *
+     * @param writer The JSON writer
+     * @throws IOException If the value cannot be written
+     */
+    public void toJson(JsonWriter writer) throws IOException {
+        JsonObject object = new JsonObject();
+        toJson(object);
+        for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            writer.name(entry.getKey());
+            Config.GSON.toJson(entry.getValue(), writer);
+        }
+    }
+
     /**
      * @return The default value of the {@link ConfigItem}
      */
@@ -127,15 +198,155 @@ public abstract class ConfigItem<T> {
      * @param value The value to set
      */
     public void setValue(T value) {
+        change(() -> {
+            storeValue(value);
+            return true;
+        });
+    }
+
+    /**
+     * Stores the value without running onChange. Items that clamp or copy
+     * their values do so here.
+     *
+     * @param value The value to store
+     */
+    protected void storeValue(T value) {
         this.value = value;
+    }
+
+    /**
+     * Gets the value as {@link #storeValue(Object)} would store it, such as
+     * clamped between a min and max. Items that clamp their values in
+     * storeValue override this.
+     *
+     * @param value The value
+     * @return The value that would be stored
+     */
+    protected T toStoredValue(T value) {
+        return value;
+    }
+
+    /**
+     * Atomically sets the value if it is still the expected value
+     *
+     * @param expected The value expected to be current
+     * @param value    The new value
+     * @return True if the value was set
+     */
+    protected final boolean compareAndSetValue(T expected, T value) {
+        return VALUE.compareAndSet(this, expected, value);
+    }
+
+    /**
+     * Stores a change to the value and then notifies it like
+     * {@link #notifyChange()}. The store runs while no
+     * {@link Config#snapshot() snapshot} is being taken, and the change's
+     * version is stamped before one can be, so a snapshot never sees part of
+     * a change. Setters should store their values through this.
+     *
+     * @param store Stores the new value, returning false if nothing changed
+     * @return The result of store
+     */
+    protected final boolean change(BooleanSupplier store) {
+        Config config = getConfig();
+        if (config == null) {
+            if (!store.getAsBoolean()) {
+                return false;
+            }
+        } else {
+            Lock lock = config.changeLock.readLock();
+            lock.lock();
+            try {
+                if (!store.getAsBoolean()) {
+                    return false;
+                }
+                markChanged(config.nextVersion());
+            } finally {
+                lock.unlock();
+            }
+        }
+        publishChange(config);
+        return true;
+    }
+
+    /**
+     * Marks the item as changed in its config, runs the onChange consumer if
+     * there is one, and then passes the item to the config's listeners. Prefer
+     * {@link #change(BooleanSupplier)}, which also stores the value.
+     */
+    protected void notifyChange() {
+        Config config = getConfig();
+        if (config != null) {
+            markChanged(config.nextVersion());
+        }
+        publishChange(config);
+    }
+
+    /**
+     * Runs the onChange consumer and passes the item to the config's listeners,
+     * recording the time taken as a {@link ConfigEvents.SetValue} event
+     *
+     * @param config The config this item is in, or null if it is not in one
+     */
+    void publishChange(@Nullable Config config) {
+        ConfigEvents.SetValue event = new ConfigEvents.SetValue();
+        event.begin();
+        runOnChange();
+        if (config != null) {
+            config.fireChanged(this);
+        }
+        if (event.shouldCommit()) {
+            event.set(config, getPath(), 0);
+            event.commit();
+        }
+    }
+
+    /**
+     * Runs the onChange consumer, if there is one
+     */
+    protected void runOnChange() {
         if (this.onChange != null) {
             this.onChange.accept(this);
         }
     }
 
+    /**
+     * Stamps the version of a change on every group above this item
+     *
+     * @param version The {@link Config#getVersion() version} of the change
+     */
+    void markChanged(long version) {
+        for (ConfigItemGroup group = parent; group != null; group = group.parent) {
+            group.version = version;
+        }
+    }
+
+    /**
+     * @return The config this item is in, or null if it is not in one
+     */
+    Config getConfig() {
+        ConfigItemGroup top = null;
+        for (ConfigItemGroup group = parent; group != null; group = group.parent) {
+            top = group;
+        }
+
+        return top != null ? top.config : null;
+    }
+
+    /**
+     * @return The dotted path of this item from its top level group, as used by {@link Config#getValue(String, Class)}
+     */
+    String getPath() {
+        StringBuilder path = new StringBuilder(name);
+        for (ConfigItemGroup group = parent; group != null; group = group.parent) {
+            path.insert(0, '.').insert(0, group.getName());
+        }
+        return path.toString();
+    }
+
     @Override
     public String toString() {
-        return name + ":" + value;
+        return name + ":" + getValue();
     }
 
     /**
@@ -160,7 +371,7 @@ public abstract class ConfigItem<T> {
      * @return True if the config item is at its default value
      */
     public boolean atDefaultValue() {
-        return this.value.equals(this.defaultValue);
+        return getValue().equals(this.defaultValue);
     }
 
     /**
@@ -24,6 +24,7 @@
 
 package com.oroarmor.config;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
@@ -31,6 +32,8 @@ import java.util.StringJoiner;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * Extending {@link ConfigItem}, {@link ConfigItemGroup} can store multiple
@@ -43,46 +46,106 @@ public class ConfigItemGroup extends ConfigItem<ConfigItem<?>> {
     /**
      * The list of {@link ConfigItem}
      */
-    private final List<ConfigItem<?>> configs;
+    private final ConfigItemList<ConfigItem<?>> configs;
+
+    /**
+     * The config this group is in, if it is a top level group
+     */
+    volatile Config config;
+
+    /**
+     * The {@link Config#getVersion() version} of the last change to an item in
+     * this group or its sub groups
+     */
+    volatile long version;
 
     /**
      * BAD CONSTRUCTOR ONLY FOR DEFAULT VALUE. DO NOT USE
      */
     private ConfigItemGroup() {
         super(null, null, null);
-        configs = new ArrayList<>();
+        configs = new ConfigItemList<>(new ArrayList<>(), child -> {}, child -> {}, () -> {});
     }
 
     /**
      * Creates a new {@link ConfigItemGroup} with the list of configs and the name
      *
-     * @param configs The list of configs
+     * @param configs The list of configs, which is copied
      * @param name    The name of this group
      */
     public ConfigItemGroup(List<ConfigItem<?>> configs, String name) {
         super(name, new ConfigItemGroup(), "");
-        this.configs = configs;
+        this.configs = new ConfigItemList<>(configs, child -> child.parent = this, child -> {
+            if (child.parent == this) {
+                child.parent = null;
+            }
+        }, this::structureChanged);
+    }
+
+    /**
+     * Passes a change to the children of this group up to its config
+     */
+    private void structureChanged() {
+        ConfigItemGroup top = this;
+        while (top.parent != null) {
+            top = top.parent;
+        }
+        Config config = top.config;
+        if (config != null) {
+            config.structureChanged();
+        }
     }
 
     @Override
     public void fromJson(JsonElement jsonConfigs) {
         JsonObject object = jsonConfigs.getAsJsonObject();
         for (Entry<String, JsonElement> entry : object.entrySet()) {
-            for (ConfigItem<?> c : configs) {
-                if (c.getName().equals(entry.getKey())) {
-                    c.fromJson(entry.getValue());
-                }
+            ConfigItem<?> child = getConfig(entry.getKey());
+            if (child != null) {
+                child.fromJson(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Reads each child from the reader as its name is read. Unknown names are
+     * skipped without being parsed. Nothing is set until the whole group has
+     * been read.
+     */
+    @Override
+    public Runnable readJson(JsonReader reader) throws IOException {
+        List<Runnable> children = new ArrayList<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            ConfigItem<?> child = getConfig(reader.nextName());
+            if (child != null) {
+                children.add(child.readJson(reader));
+            } else {
+                reader.skipValue();
             }
         }
+        reader.endObject();
+        return () -> children.forEach(Runnable::run);
     }
 
     /**
-     * @return The configs for this group
+     * @return The configs for this group. Changes to this list are tracked so
+     * that path lookups in {@link Config} stay up to date
      */
     public List<ConfigItem<?>> getConfigs() {
         return configs;
     }
 
+    /**
+     * Gets the direct child with the name
+     *
+     * @param name The name of the child
+     * @return The child {@link ConfigItem} or {@link ConfigItemGroup}, or null if there is none
+     */
+    public ConfigItem<?> getConfig(String name) {
+        return configs.getByName(name);
+    }
+
     /**
      * Converts the config items into json
      */
@@ -97,6 +160,15 @@ public class ConfigItemGroup extends ConfigItem<ConfigItem<?>> {
         superObject.add(this.getName(), object);
     }
 
+    @Override
+    public void toJson(JsonWriter writer) throws IOException {
+        writer.name(this.getName()).beginObject();
+        for (ConfigItem<?> c : configs) {
+            c.toJson(writer);
+        }
+        writer.endObject();
+    }
+
     @Override
     public String toString() {
         String string = getName() + ": [";
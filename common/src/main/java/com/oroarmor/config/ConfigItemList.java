@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A list view over the children of a {@link Config} or {@link ConfigItemGroup}
+ * that records every structural change, and keeps the index of its items by
+ * name that every name and path lookup goes through. The index is rebuilt on
+ * the first lookup after a change, and the owner is told of each change so it
+ * can pass it up to its config. Every item added is
+ * passed to the owner's adopt function, which links it back to the owner, and
+ * every item removed or replaced is passed to the release function, which
+ * unlinks it.
+ *
+ * @param <E> The type of config item stored
+ * @author Eli Orona
+ */
+final class ConfigItemList<E extends ConfigItem<?>> extends AbstractList<E> implements RandomAccess {
+    /**
+     * The backing list, copied from the list given to the owner
+     */
+    private final List<E> delegate;
+
+    /**
+     * Links an item to the owner of this list
+     */
+    private final Consumer<E> adopt;
+
+    /**
+     * Unlinks an item from the owner of this list
+     */
+    private final Consumer<E> release;
+
+    /**
+     * Tells the owner of this list that it changed
+     */
+    private final Runnable changed;
+
+    /**
+     * Incremented on every change to this list
+     */
+    private volatile int version;
+
+    /**
+     * The items by name, tagged with the version it was built from
+     */
+    private volatile NameIndex<E> nameIndex;
+
+    ConfigItemList(List<E> items, Consumer<E> adopt, Consumer<E> release, Runnable changed) {
+        this.delegate = new ArrayList<>(items);
+        this.adopt = adopt;
+        this.release = release;
+        this.changed = changed;
+        delegate.forEach(adopt);
+    }
+
+    /**
+     * @return The current version of this list
+     */
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the first item with the name
+     *
+     * @param name The name of the item
+     * @return The item, or null if there is none
+     */
+    @Nullable
+    E getByName(String name) {
+        NameIndex<E> index = this.nameIndex;
+        if (index == null || index.version != version) {
+            index = buildNameIndex();
+        }
+        return index.items.get(name);
+    }
+
+    /**
+     * Builds the name index. Threads racing to build it each build an equal
+     * index, so no lock is needed.
+     */
+    private NameIndex<E> buildNameIndex() {
+        int version = this.version;
+        Map<String, E> items = new HashMap<>();
+        for (E item : delegate) {
+            items.putIfAbsent(item.getName(), item);
+        }
+
+        NameIndex<E> index = new NameIndex<>(version, items);
+        this.nameIndex = index;
+        return index;
+    }
+
+    private void recordChange() {
+        version++;
+        changed.run();
+    }
+
+    @Override
+    public E get(int index) {
+        return delegate.get(index);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public E set(int index, E element) {
+        E old = delegate.set(index, element);
+        release.accept(old);
+        adopt.accept(element);
+        recordChange();
+        return old;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        delegate.add(index, element);
+        adopt.accept(element);
+        modCount++;
+        recordChange();
+    }
+
+    @Override
+    public E remove(int index) {
+        E old = delegate.remove(index);
+        release.accept(old);
+        modCount++;
+        recordChange();
+        return old;
+    }
+
+    private static final class NameIndex<E> {
+        private final int version;
+        private final Map<String, E> items;
+
+        private NameIndex(int version, Map<String, E> items) {
+            this.version = version;
+            this.items = items;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config;
+
+/**
+ * {@link ConfigKey} is a pre-resolved handle to a single {@link ConfigItem}.
+ * The path and type are checked once in {@link Config#key(String, Class)}, so
+ * {@link #get()} is only a read of the bound item's value. Use these in place
+ * of {@link Config#getValue(String, Class)} for values read often.
+ *
+ * @param <T> The type of the value
+ * @author Eli Orona
+ */
+public final class ConfigKey<T> {
+    /**
+     * The path of the item
+     */
+    private final String path;
+
+    /**
+     * The bound item
+     */
+    private final ConfigItem<T> item;
+
+    ConfigKey(String path, ConfigItem<T> item) {
+        this.path = path;
+        this.item = item;
+    }
+
+    /**
+     * @return The current value of the bound {@link ConfigItem}
+     */
+    public T get() {
+        return item.getValue();
+    }
+
+    /**
+     * Reads an int value without boxing it again. Values of the built in
+     * items are stored boxed, so this unboxes the stored value.
+     *
+     * @return The current value of the bound {@link ConfigItem}
+     * @throws ClassCastException If the key is not for an {@link Integer}
+     */
+    public int getInt() {
+        return (Integer) item.getValue();
+    }
+
+    /**
+     * @return The current value of the bound {@link ConfigItem}
+     * @throws ClassCastException If the key is not for a {@link Double}
+     * @see #getInt()
+     */
+    public double getDouble() {
+        return (Double) item.getValue();
+    }
+
+    /**
+     * @return The current value of the bound {@link ConfigItem}
+     * @throws ClassCastException If the key is not for a {@link Boolean}
+     * @see #getInt()
+     */
+    public boolean getBoolean() {
+        return (Boolean) item.getValue();
+    }
+
+    /**
+     * @return The bound {@link ConfigItem}
+     */
+    public ConfigItem<T> getItem() {
+        return item;
+    }
+
+    /**
+     * @return The path this key was resolved from
+     */
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return path + ":" + item.getValue();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oroarmor.config;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ConfigMetrics} holds the counters and timings for a {@link Config},
+ * from {@link Config#getMetrics()}. Every counter is a {@link LongAdder}, so
+ * counting from many threads does not contend, and reading a value sums it at
+ * that moment.
+ *
+ * @author Eli Orona
+ */
+public final class ConfigMetrics {
+    final LongAdder getValueCalls = new LongAdder();
+    final LongAdder performedReads = new LongAdder();
+    final LongAdder skippedReads = new LongAdder();
+    final LongAdder reloads = new LongAdder();
+    final LongAdder performedWrites = new LongAdder();
+    final LongAdder skippedWrites = new LongAdder();
+    final LongAdder bytesWritten = new LongAdder();
+    final LongAdder changes = new LongAdder();
+
+    /**
+     * The time spent parsing the file
+     */
+    final LatencyHistogram readTime = new LatencyHistogram();
+
+    /**
+     * The time spent serializing and writing the file
+     */
+    final LatencyHistogram writeTime = new LatencyHistogram();
+
+    ConfigMetrics() {
+    }
+
+    /**
+     * @return The number of calls to {@link Config#getValue(String, Class)}
+     */
+    public long getValueCalls() {
+        return getValueCalls.sum();
+    }
+
+    /**
+     * @return The number of times the file was read, including reloads
+     */
+    public long getPerformedReads() {
+        return performedReads.sum();
+    }
+
+    /**
+     * @return The number of reads skipped because the file had not changed
+     */
+    public long getSkippedReads() {
+        return skippedReads.sum();
+    }
+
+    /**
+     * @return The number of times the file was reloaded after it changed outside the game
+     */
+    public long getReloads() {
+        return reloads.sum();
+    }
+
+    /**
+     * @return The number of times the file was written
+     */
+    public long getPerformedWrites() {
+        return performedWrites.sum();
+    }
+
+    /**
+     * @return The number of writes skipped because the file already had the same contents
+     */
+    public long getSkippedWrites() {
+        return skippedWrites.sum();
+    }
+
+    /**
+     * @return The number of bytes written to the file
+     */
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    /**
+     * @return The number of value changes, each of which ran the item's onChange
+     */
+    public long getChanges() {
+        return changes.sum();
+    }
+
+    /**
+     * @return The time spent parsing the file
+     */
+    public LatencyHistogram getReadTime() {
+        return readTime;
+    }
+
+    /**
+     * @return The time spent serializing and writing the file
+     */
+    public LatencyHistogram getWriteTime() {
+        return writeTime;
+    }
+
+    @Override
+    public String toString() {
+        return "getValue calls: " + getValueCalls() +
+                "\nreads: " + getPerformedReads() + " (skipped " + getSkippedReads() + ", reloads " + getReloads() + ")" +
+                "\nwrites: " + getPerformedWrites() + " (skipped " + getSkippedWrites() + ", " + getBytesWritten() + " bytes)" +
+                "\nchanges: " + getChanges() +
+                "\nread time: " + readTime +
+                "\nwrite time: " + writeTime;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ConfigRegistry} loads configs in parallel at startup. Register your
+ * config in your mod initializer instead of calling
+ * {@link Config#readConfigFromFile()}, and wait on the returned future (or
+ * {@link #awaitAll()}) before the config is first used: <br>
+ * <code>
+ * ConfigRegistry.register(CONFIG).thenRun(CONFIG::saveConfigToFile);
+ * </code>
+ *
+ * @author Eli Orona
+ */
+public final class ConfigRegistry {
+    /**
+     * The load for each registered config, by id
+     */
+    private static final Map<String, CompletableFuture<Config>> CONFIGS = new ConcurrentHashMap<>();
+
+    private ConfigRegistry() {
+    }
+
+    /**
+     * Registers the config and starts reading it from its file on a background
+     * pool, in parallel with the other registered configs.
+     *
+     * @param config The config to load
+     * @return A future that completes once the config has been read, or
+     * completes exceptionally if the file cannot be read
+     */
+    public static CompletableFuture<Config> register(Config config) {
+        CompletableFuture<Config> load = new CompletableFuture<>();
+        if (CONFIGS.putIfAbsent(config.getID(), load) != null) {
+            throw new IllegalArgumentException("Duplicate config id " + config.getID());
+        }
+
+        ConfigExecutors.LOADER.execute(() -> {
+            try {
+                config.load();
+                load.complete(config);
+            } catch (Throwable t) {
+                load.completeExceptionally(t);
+            }
+        });
+        return load;
+    }
+
+    /**
+     * @param id The id of the config
+     * @return The load for the config, or null if it was not registered
+     */
+    public static CompletableFuture<Config> get(String id) {
+        return CONFIGS.get(id);
+    }
+
+    /**
+     * Waits for the config to finish loading
+     *
+     * @param id The id of the config
+     * @return The loaded config
+     */
+    public static Config await(String id) {
+        CompletableFuture<Config> load = CONFIGS.get(id);
+        if (load == null) {
+            throw new IllegalArgumentException("No config registered with id " + id);
+        }
+        return load.join();
+    }
+
+    /**
+     * Waits for every registered config to finish loading
+     */
+    public static void awaitAll() {
+        CompletableFuture.allOf(CONFIGS.values().toArray(new CompletableFuture<?>[0])).join();
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * {@link ConfigSnapshot} is an immutable view of every value in a
+ * {@link Config} at one {@link Config#getVersion() version}. Snapshots are
+ * taken with {@link Config#snapshot()}, and groups that have not changed
+ * between two snapshots are shared between them. Array values are shared
+ * with the items, so do not modify them.
+ *
+ * @author Eli Orona
+ */
+public final class ConfigSnapshot {
+    /**
+     * The config the snapshot was taken from
+     */
+    private final Config config;
+
+    /**
+     * The version of the config when the snapshot was started
+     */
+    private final long version;
+
+    /**
+     * The structure version of the config when the snapshot was started
+     */
+    private final int structureVersion;
+
+    /**
+     * The snapshots of the top level groups
+     */
+    private final Map<ConfigItemGroup, GroupSnapshot> groups;
+
+    private ConfigSnapshot(Config config, long version, int structureVersion, Map<ConfigItemGroup, GroupSnapshot> groups) {
+        this.config = config;
+        this.version = version;
+        this.structureVersion = structureVersion;
+        this.groups = groups;
+    }
+
+    /**
+     * Takes a new snapshot of the config, reusing the groups of the previous
+     * snapshot that have not changed. Must be called while holding the
+     * config's change lock exclusively.
+     *
+     * @param config   The config
+     * @param previous The previous snapshot, or null
+     * @return The new snapshot
+     */
+    static ConfigSnapshot create(Config config, ConfigSnapshot previous) {
+        // Called with changes locked out, so the version matches every value walked below
+        long version = config.getVersion();
+        int structureVersion = config.getStructureVersion();
+        boolean reuse = previous != null && previous.structureVersion == structureVersion;
+
+        Map<ConfigItemGroup, GroupSnapshot> groups = new IdentityHashMap<>();
+        for (ConfigItemGroup group : config.getConfigs()) {
+            groups.put(group, GroupSnapshot.create(group, reuse ? previous.groups.get(group) : null));
+        }
+
+        return new ConfigSnapshot(config, version, structureVersion, groups);
+    }
+
+    /**
+     * @return True if nothing in the config has changed since this snapshot
+     */
+    boolean isCurrent() {
+        return version == config.getVersion() && structureVersion == config.getStructureVersion();
+    }
+
+    /**
+     * @return The {@link Config#getVersion() version} of the config this snapshot was taken at
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the value of the key in this snapshot
+     *
+     * @param key The key
+     * @param <T> The type of the value
+     * @return The value when the snapshot was taken
+     */
+    public <T> T get(ConfigKey<T> key) {
+        return get(key.getItem());
+    }
+
+    /**
+     * Gets the value of the item in this snapshot
+     *
+     * @param item The item
+     * @param <T>  The type of the value
+     * @return The value when the snapshot was taken
+     * @throws IllegalArgumentException If the item was not in the config when the snapshot was taken
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(ConfigItem<T> item) {
+        GroupSnapshot group = find(item.parent);
+        if (group == null || !group.values.containsKey(item)) {
+            throw new IllegalArgumentException(item.getName() + " is not in the snapshot of " + config.getID());
+        }
+        return (T) group.values.get(item);
+    }
+
+    /**
+     * Gets the value at path in this snapshot
+     *
+     * @param path  The path to search
+     * @param clazz The class of the type to get
+     * @param <T>   The type to get
+     * @return The value if it exists
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getValue(String path, Class<T> clazz) {
+        ConfigItem<?> selectedItem = config.getConfigItem(path);
+        if (selectedItem == null) {
+            System.err.printf("Path: %s does not exist\n", path);
+            return null;
+        }
+
+        if (!selectedItem.isValidType(clazz)) {
+            throw new IllegalArgumentException("Incorrect type " + clazz.getName() + " for " + path + ". Correct class is " + selectedItem.getValue().getClass().getSimpleName());
+        }
+
+        return get((ConfigItem<T>) selectedItem);
+    }
+
+    private GroupSnapshot find(ConfigItemGroup group) {
+        if (group == null) {
+            return null;
+        }
+
+        if (group.parent == null) {
+            return groups.get(group);
+        }
+
+        GroupSnapshot parent = find(group.parent);
+        if (parent == null) {
+            return null;
+        }
+
+        Object child = parent.values.get(group);
+        return child instanceof GroupSnapshot ? (GroupSnapshot) child : null;
+    }
+
+    /**
+     * The values of one group, with nested groups stored as their own
+     * {@link GroupSnapshot}
+     */
+    static final class GroupSnapshot {
+        /**
+         * The version of the group when the snapshot was started
+         */
+        private final long version;
+
+        /**
+         * The value of each child
+         */
+        private final Map<ConfigItem<?>, Object> values;
+
+        private GroupSnapshot(long version, Map<ConfigItem<?>, Object> values) {
+            this.version = version;
+            this.values = values;
+        }
+
+        static GroupSnapshot create(ConfigItemGroup group, GroupSnapshot previous) {
+            long version = group.version;
+            if (previous != null && previous.version == version) {
+                return previous;
+            }
+
+            Map<ConfigItem<?>, Object> values = new IdentityHashMap<>();
+            for (ConfigItem<?> item : group.getConfigs()) {
+                if (item instanceof ConfigItemGroup) {
+                    Object old = previous != null ? previous.values.get(item) : null;
+                    values.put(item, create((ConfigItemGroup) item, old instanceof GroupSnapshot ? (GroupSnapshot) old : null));
+                } else {
+                    values.put(item, item.getValue());
+                }
+            }
+
+            return new GroupSnapshot(version, values);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * {@link ConfigSubscription} is a listener registered with
+ * {@link Config#subscribe(ConfigItem, Executor, Consumer)}. Changes are
+ * delivered on the executor, and an item that changes several times before
+ * the listener runs is only delivered once, so the listener should read the
+ * latest value from the item.
+ *
+ * @author Eli Orona
+ */
+public final class ConfigSubscription {
+    /**
+     * The config the listener is registered with
+     */
+    private final Config config;
+
+    /**
+     * The item or group listened to, or null for the whole config
+     */
+    private final ConfigItem<?> target;
+
+    /**
+     * The executor to deliver changes on
+     */
+    private final Executor executor;
+
+    /**
+     * The listener
+     */
+    private final Consumer<ConfigItem<?>> listener;
+
+    /**
+     * The items changed since the listener last ran
+     */
+    private final Set<ConfigItem<?>> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * True while a delivery is queued on the executor
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private volatile boolean cancelled;
+
+    ConfigSubscription(Config config, ConfigItem<?> target, Executor executor, Consumer<ConfigItem<?>> listener) {
+        this.config = config;
+        this.target = target;
+        this.executor = executor;
+        this.listener = listener;
+    }
+
+    /**
+     * Queues the changed item, and schedules a delivery if one is not already queued
+     *
+     * @param item The item that changed
+     */
+    void changed(ConfigItem<?> item) {
+        if (cancelled || !pending.add(item)) {
+            return;
+        }
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::deliver);
+        }
+    }
+
+    private void deliver() {
+        scheduled.set(false);
+        Iterator<ConfigItem<?>> iterator = pending.iterator();
+        while (iterator.hasNext() && !cancelled) {
+            ConfigItem<?> item = iterator.next();
+            iterator.remove();
+            try {
+                listener.accept(item);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * @return The item or group listened to, or null if the whole config is listened to
+     */
+    ConfigItem<?> getTarget() {
+        return target;
+    }
+
+    /**
+     * Stops delivering changes to the listener. Changes that are already
+     * queued are dropped.
+     */
+    public void cancel() {
+        cancelled = true;
+        pending.clear();
+        config.unsubscribe(this);
+    }
+
+    /**
+     * @return True if the subscription has been cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * {@link ConfigTransaction} collects changes made in
+ * {@link Config#edit(java.util.function.Consumer)}. Nothing is set until the
+ * edit block returns, so values read from the items during the block are the
+ * values from before the edit. Use {@link #get(ConfigItem)} to read a value
+ * including the changes made so far.
+ *
+ * @author Eli Orona
+ */
+public final class ConfigTransaction {
+    /**
+     * The config being edited
+     */
+    private final Config config;
+
+    /**
+     * The new value of each changed item, in the order they were set
+     */
+    private final Map<ConfigItem<?>, Object> changes = new LinkedHashMap<>();
+
+    ConfigTransaction(Config config) {
+        this.config = config;
+    }
+
+    /**
+     * Sets the value of the item when the transaction is committed
+     *
+     * @param item  The item to set
+     * @param value The value to set
+     * @param <T>   The type of the value
+     * @return This transaction
+     * @throws IllegalArgumentException If the item is not in the config being edited
+     */
+    public <T> ConfigTransaction set(ConfigItem<T> item, T value) {
+        if (item.getConfig() != config) {
+            throw new IllegalArgumentException(item.getName() + " is not in " + config.getID());
+        }
+        if (item instanceof ConfigItemGroup) {
+            throw new IllegalArgumentException("Cannot set the group " + item.getName());
+        }
+        changes.put(item, Objects.requireNonNull(value, "value"));
+        return this;
+    }
+
+    /**
+     * Sets the value of the key when the transaction is committed
+     *
+     * @param key   The key to set
+     * @param value The value to set
+     * @param <T>   The type of the value
+     * @return This transaction
+     */
+    public <T> ConfigTransaction set(ConfigKey<T> key, T value) {
+        return set(key.getItem(), value);
+    }
+
+    /**
+     * Gets the value of the item, including changes made in this transaction.
+     * A value set in this transaction is returned as the item will store it,
+     * such as clamped between the item's min and max.
+     *
+     * @param item The item
+     * @param <T>  The type of the value
+     * @return The value set in this transaction, or the current value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(ConfigItem<T> item) {
+        Object value = changes.get(item);
+        return value != null ? item.toStoredValue((T) value) : item.getValue();
+    }
+
+    /**
+     * Stores every changed value under a single new version. If storing any
+     * value fails, the values already stored are put back.
+     *
+     * @return The items that changed
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    List<ConfigItem<?>> commit() {
+        List<ConfigItem<?>> changed = new ArrayList<>(changes.size());
+        List<Object> previous = new ArrayList<>(changes.size());
+        try {
+            for (Map.Entry<ConfigItem<?>, Object> change : changes.entrySet()) {
+                ConfigItem item = change.getKey();
+                Object old = item.getValue();
+                item.storeValue(change.getValue());
+                // Compare what was stored, since items clamp the value when storing it
+                if (Objects.deepEquals(old, item.getValue())) {
+                    continue;
+                }
+                changed.add(item);
+                previous.add(old);
+            }
+        } catch (RuntimeException e) {
+            for (int i = 0; i < changed.size(); i++) {
+                ((ConfigItem) changed.get(i)).storeValue(previous.get(i));
+            }
+            throw e;
+        }
+
+        if (!changed.isEmpty()) {
+            long version = config.nextVersion();
+            for (ConfigItem<?> item : changed) {
+                item.markChanged(version);
+            }
+        }
+        return changed;
+    }
+}
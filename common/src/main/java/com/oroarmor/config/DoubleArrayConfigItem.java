@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A Config item for a fixed length array of {@code double}s, stored without
+ * boxing. Every element is clamped between min and max.
+ *
+ * @author Eli Orona
+ */
+public class DoubleArrayConfigItem extends PrimitiveArrayConfigItem<double[]> {
+    protected double min = -Double.MAX_VALUE;
+    protected double max = Double.MAX_VALUE;
+
+    public DoubleArrayConfigItem(String name, double[] defaultValue, String details) {
+        this(name, defaultValue, details, null);
+    }
+
+    public DoubleArrayConfigItem(String name, double[] defaultValue, String details, @Nullable Consumer<ConfigItem<double[]>> onChange) {
+        this(name, defaultValue, details, onChange, -Double.MAX_VALUE, Double.MAX_VALUE);
+    }
+
+    public DoubleArrayConfigItem(String name, double[] defaultValue, String details, @Nullable Consumer<ConfigItem<double[]>> onChange, double min, double max) {
+        super(name, defaultValue, details, onChange);
+        this.min = min;
+        this.max = max;
+    }
+
+    @Override
+    protected double[] copyOf(double[] values) {
+        return Arrays.copyOf(values, values.length);
+    }
+
+    @Override
+    protected void clampRange(double[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            values[i] = clamp(values[i]);
+        }
+    }
+
+    @Override
+    protected void readElement(JsonReader reader, double[] values, int position) throws IOException {
+        values[position] = reader.nextDouble();
+    }
+
+    @Override
+    protected void readElement(JsonElement element, double[] values, int position) {
+        values[position] = element.getAsDouble();
+    }
+
+    @Override
+    protected void writeElement(JsonWriter writer, double[] values, int position) throws IOException {
+        writer.value(values[position]);
+    }
+
+    @Override
+    protected void addElement(JsonArray array, double[] values, int position) {
+        array.add(values[position]);
+    }
+
+    @Override
+    protected void appendElement(StringBuilder builder, double[] values, int position) {
+        builder.append(values[position]);
+    }
+
+    @Override
+    protected boolean valuesEqual(double[] first, double[] second) {
+        return Arrays.equals(first, second);
+    }
+
+    @Override
+    public <T> boolean isValidType(Class<T> clazz) {
+        return clazz == double[].class;
+    }
+
+    /**
+     * doublearam position The position in the array
+     * @return The current value at position
+     */
+    public double getDouble(int position) {
+        return this.value[position];
+    }
+
+    /**
+     * doublearam position The position in the array
+     * @return The default value at position
+     */
+    public double getDefaultDouble(int position) {
+        return this.defaultValue[position];
+    }
+
+    /**
+     * Copies the current values into an array
+     *
+     * doublearam destination The array to copy into
+     * doublearam offset      The position in the item to start copying from
+     */
+    public void copyTo(double[] destination, int offset) {
+        copyRange(destination, destination.length, offset);
+    }
+
+    /**
+     * Sets the value at position, clamped between min and max
+     *
+     * doublearam position The position in the array
+     * doublearam value    The value to set
+     */
+    public void setDouble(int position, double value) {
+        checkPosition(position);
+        double clamped = clamp(value);
+        update(values -> values[position] = clamped);
+    }
+
+    /**
+     * Sets the values starting at offset, each clamped between min and max
+     *
+     * doublearam offset The position in the array to start at
+     * doublearam values The values to set
+     */
+    public void setDoubles(int offset, double... values) {
+        setRange(offset, values, values.length);
+    }
+
+    private double clamp(double value) {
+        return Math.max(Math.min(value, max), min);
+    }
+
+    /**
+     * The min value for each element
+     *
+     * @return min
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * The max value for each element
+     *
+     * @return max
+     */
+    public double getMax() {
+        return max;
+    }
+}
@@ -24,14 +24,18 @@
 
 package com.oroarmor.config;
 
+import java.io.IOException;
 import java.util.function.Consumer;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * A Config item for doubles
+ * A Config item for doubles. Use {@link #getDouble()} to read the value without
+ * allocating, and {@link #setDouble(double)} to set it from a {@code double}.
  */
 public class DoubleConfigItem extends ConfigItem<Double> {
     protected double min = Double.MIN_VALUE;
@@ -61,24 +65,77 @@ public class DoubleConfigItem extends ConfigItem<Double> {
         this.value = element.getAsDouble();
     }
 
+    @Override
+    public Runnable readJson(JsonReader reader) throws IOException {
+        double read = reader.nextDouble();
+        return () -> this.value = read;
+    }
+
     @Override
     public void toJson(JsonObject object) {
         object.addProperty(this.name, this.value);
     }
 
+    @Override
+    public void toJson(JsonWriter writer) throws IOException {
+        writer.name(this.name).value(getDouble());
+    }
+
     @Override
     public <T> boolean isValidType(Class<T> clazz) {
         return clazz == Double.class;
     }
 
+    /**
+     * @return The current value of the config
+     */
+    public double getDouble() {
+        return value;
+    }
+
     @Override
     public void setValue(Double value) {
-        super.setValue(Double.max(Double.min(value, max), min));
+        setDouble(value);
+    }
+
+    /**
+     * Sets the value of the config, clamped between min and max
+     *
+     * @param value The value to set
+     */
+    public void setDouble(double value) {
+        change(() -> {
+            storeDouble(value);
+            return true;
+        });
+    }
+
+    @Override
+    protected void storeValue(Double value) {
+        storeDouble(value);
+    }
+
+    private void storeDouble(double value) {
+        this.value = clamp(value);
+    }
+
+    @Override
+    protected Double toStoredValue(Double value) {
+        return clamp(value);
+    }
+
+    private double clamp(double value) {
+        return Math.max(Math.min(value, max), min);
+    }
+
+    @Override
+    public boolean atDefaultValue() {
+        return Double.compare(getDouble(), this.defaultValue) == 0;
     }
 
     @Override
     public String getCommandValue() {
-        return this.value.toString();
+        return Double.toString(getDouble());
     }
 
     /**
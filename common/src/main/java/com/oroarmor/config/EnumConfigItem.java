@@ -24,29 +24,53 @@
 
 package com.oroarmor.config;
 
-import java.util.Arrays;
+import java.io.IOException;
 import java.util.function.Consumer;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * A Config item for enums
  */
 public class EnumConfigItem<T extends Enum<T>> extends ConfigItem<T> {
+    /**
+     * The codec for the enum, which looks up constants by name
+     */
+    private final ConfigCodec.EnumCodec<T> codec;
+
     public EnumConfigItem(String name, T defaultValue, String details) {
-        super(name, defaultValue, details);
+        this(name, defaultValue, details, null);
     }
 
     public EnumConfigItem(String name, T defaultValue, String details, @Nullable Consumer<ConfigItem<T>> onChange) {
         super(name, defaultValue, details, onChange);
+        this.codec = ConfigCodec.ofEnum(defaultValue.getDeclaringClass());
+    }
+
+    /**
+     * @return The codec for the enum
+     */
+    public ConfigCodec.EnumCodec<T> getCodec() {
+        return codec;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void fromJson(JsonElement element) {
-        this.value = (T) Arrays.stream(((T) defaultValue).getClass().getEnumConstants()).filter(val -> val.toString().equals(element.getAsString())).findFirst().get();
+        this.value = parse(element.getAsString());
+    }
+
+    @Override
+    public Runnable readJson(JsonReader reader) throws IOException {
+        T read = parse(reader.nextString());
+        return () -> this.value = read;
+    }
+
+    private T parse(String name) {
+        return codec.parse(name);
     }
 
     @Override
@@ -54,6 +78,11 @@ public class EnumConfigItem<T extends Enum<T>> extends ConfigItem<T> {
         object.addProperty(this.name, this.value.toString());
     }
 
+    @Override
+    public void toJson(JsonWriter writer) throws IOException {
+        writer.name(this.name).value(this.value.toString());
+    }
+
     @Override
     public <T1> boolean isValidType(Class<T1> clazz) {
         return clazz == defaultValue.getClass();
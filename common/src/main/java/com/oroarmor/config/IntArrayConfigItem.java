@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A Config item for a fixed length array of {@code int}s, stored without
+ * boxing. Every element is clamped between min and max.
+ *
+ * @author Eli Orona
+ */
+public class IntArrayConfigItem extends PrimitiveArrayConfigItem<int[]> {
+    protected int min = Integer.MIN_VALUE;
+    protected int max = Integer.MAX_VALUE;
+
+    public IntArrayConfigItem(String name, int[] defaultValue, String details) {
+        this(name, defaultValue, details, null);
+    }
+
+    public IntArrayConfigItem(String name, int[] defaultValue, String details, @Nullable Consumer<ConfigItem<int[]>> onChange) {
+        this(name, defaultValue, details, onChange, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public IntArrayConfigItem(String name, int[] defaultValue, String details, @Nullable Consumer<ConfigItem<int[]>> onChange, int min, int max) {
+        super(name, defaultValue, details, onChange);
+        this.min = min;
+        this.max = max;
+    }
+
+    @Override
+    protected int[] copyOf(int[] values) {
+        return Arrays.copyOf(values, values.length);
+    }
+
+    @Override
+    protected void clampRange(int[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            values[i] = clamp(values[i]);
+        }
+    }
+
+    @Override
+    protected void readElement(JsonReader reader, int[] values, int position) throws IOException {
+        values[position] = reader.nextInt();
+    }
+
+    @Override
+    protected void readElement(JsonElement element, int[] values, int position) {
+        values[position] = element.getAsInt();
+    }
+
+    @Override
+    protected void writeElement(JsonWriter writer, int[] values, int position) throws IOException {
+        writer.value(values[position]);
+    }
+
+    @Override
+    protected void addElement(JsonArray array, int[] values, int position) {
+        array.add(values[position]);
+    }
+
+    @Override
+    protected void appendElement(StringBuilder builder, int[] values, int position) {
+        builder.append(values[position]);
+    }
+
+    @Override
+    protected boolean valuesEqual(int[] first, int[] second) {
+        return Arrays.equals(first, second);
+    }
+
+    @Override
+    public <T> boolean isValidType(Class<T> clazz) {
+        return clazz == int[].class;
+    }
+
+    /**
+     * intaram position The position in the array
+     * @return The current value at position
+     */
+    public int getInt(int position) {
+        return this.value[position];
+    }
+
+    /**
+     * intaram position The position in the array
+     * @return The default value at position
+     */
+    public int getDefaultInt(int position) {
+        return this.defaultValue[position];
+    }
+
+    /**
+     * Copies the current values into an array
+     *
+     * intaram destination The array to copy into
+     * intaram offset      The position in the item to start copying from
+     */
+    public void copyTo(int[] destination, int offset) {
+        copyRange(destination, destination.length, offset);
+    }
+
+    /**
+     * Sets the value at position, clamped between min and max
+     *
+     * intaram position The position in the array
+     * intaram value    The value to set
+     */
+    public void setInt(int position, int value) {
+        checkPosition(position);
+        int clamped = clamp(value);
+        update(values -> values[position] = clamped);
+    }
+
+    /**
+     * Sets the values starting at offset, each clamped between min and max
+     *
+     * intaram offset The position in the array to start at
+     * intaram values The values to set
+     */
+    public void setInts(int offset, int... values) {
+        setRange(offset, values, values.length);
+    }
+
+    private int clamp(int value) {
+        return Math.max(Math.min(value, max), min);
+    }
+
+    /**
+     * The min value for each element
+     *
+     * @return min
+     */
+    public int getMin() {
+        return min;
+    }
+
+    /**
+     * The max value for each element
+     *
+     * @return max
+     */
+    public int getMax() {
+        return max;
+    }
+}
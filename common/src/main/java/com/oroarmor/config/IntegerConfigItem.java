@@ -24,14 +24,18 @@
 
 package com.oroarmor.config;
 
+import java.io.IOException;
 import java.util.function.Consumer;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * A Config item for integers
+ * A Config item for integers. Use {@link #getInt()} to read the value without
+ * allocating, and {@link #setInt(int)} to set it from an {@code int}.
  */
 public class IntegerConfigItem extends ConfigItem<Integer> {
     protected int min = Integer.MIN_VALUE;
@@ -61,24 +65,77 @@ public class IntegerConfigItem extends ConfigItem<Integer> {
         this.value = element.getAsInt();
     }
 
+    @Override
+    public Runnable readJson(JsonReader reader) throws IOException {
+        int read = reader.nextInt();
+        return () -> this.value = read;
+    }
+
     @Override
     public void toJson(JsonObject object) {
         object.addProperty(this.name, this.value);
     }
 
+    @Override
+    public void toJson(JsonWriter writer) throws IOException {
+        writer.name(this.name).value(getInt());
+    }
+
     @Override
     public <T> boolean isValidType(Class<T> clazz) {
         return clazz == Integer.class;
     }
 
+    /**
+     * @return The current value of the config
+     */
+    public int getInt() {
+        return value;
+    }
+
     @Override
     public void setValue(Integer value) {
-        super.setValue(Integer.max(Integer.min(value, max), min));
+        setInt(value);
+    }
+
+    /**
+     * Sets the value of the config, clamped between min and max
+     *
+     * @param value The value to set
+     */
+    public void setInt(int value) {
+        change(() -> {
+            storeInt(value);
+            return true;
+        });
+    }
+
+    @Override
+    protected void storeValue(Integer value) {
+        storeInt(value);
+    }
+
+    private void storeInt(int value) {
+        this.value = clamp(value);
+    }
+
+    @Override
+    protected Integer toStoredValue(Integer value) {
+        return clamp(value);
+    }
+
+    private int clamp(int value) {
+        return Math.max(Math.min(value, max), min);
+    }
+
+    @Override
+    public boolean atDefaultValue() {
+        return getInt() == this.defaultValue;
     }
 
     @Override
     public String getCommandValue() {
-        return this.value.toString();
+        return Integer.toString(getInt());
     }
 
     /**
@@ -0,0 +1,245 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.function.Consumer;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The base for config items holding a fixed length primitive array, such as
+ * {@link IntArrayConfigItem} and {@link DoubleArrayConfigItem}. Subclasses
+ * handle single elements, and this class handles the copying, bounds and JSON
+ * for the whole array. <br>
+ * The array is copied on every change and the copy is published whole, so
+ * readers on other threads never see a partly written array. Arrays returned
+ * by {@link #getValue()} must not be modified.
+ *
+ * @param <A> The array type, such as {@code int[]}
+ * @author Eli Orona
+ */
+public abstract class PrimitiveArrayConfigItem<A> extends ConfigItem<A> {
+    /**
+     * The number of elements
+     */
+    private final int length;
+
+    public PrimitiveArrayConfigItem(String name, A defaultValue, String details, @Nullable Consumer<ConfigItem<A>> onChange) {
+        super(name, defaultValue, details, onChange);
+        this.length = Array.getLength(defaultValue);
+        this.value = copyOf(defaultValue);
+    }
+
+    /**
+     * @param values The array to copy
+     * @return A copy of the array
+     */
+    protected abstract A copyOf(A values);
+
+    /**
+     * Clamps the elements from {@code from} up to {@code to} in place
+     *
+     * @param values The array
+     * @param from   The first position to clamp
+     * @param to     The position after the last to clamp
+     */
+    protected abstract void clampRange(A values, int from, int to);
+
+    protected abstract void readElement(JsonReader reader, A values, int position) throws IOException;
+
+    protected abstract void readElement(JsonElement element, A values, int position);
+
+    protected abstract void writeElement(JsonWriter writer, A values, int position) throws IOException;
+
+    protected abstract void addElement(JsonArray array, A values, int position);
+
+    protected abstract void appendElement(StringBuilder builder, A values, int position);
+
+    protected abstract boolean valuesEqual(A first, A second);
+
+    @Override
+    public void fromJson(JsonElement element) {
+        JsonArray array = element.getAsJsonArray();
+        A newValues = copyOf(value);
+        int size = Math.min(array.size(), length);
+        for (int i = 0; i < size; i++) {
+            readElement(array.get(i), newValues, i);
+        }
+        clampRange(newValues, 0, size);
+        this.value = newValues;
+    }
+
+    @Override
+    public Runnable readJson(JsonReader reader) throws IOException {
+        A newValues = copyOf(value);
+        int size = 0;
+        reader.beginArray();
+        for (; reader.hasNext(); size++) {
+            if (size < length) {
+                readElement(reader, newValues, size);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endArray();
+        clampRange(newValues, 0, Math.min(size, length));
+        return () -> this.value = newValues;
+    }
+
+    @Override
+    public void toJson(JsonObject object) {
+        A current = value;
+        JsonArray array = new JsonArray();
+        for (int i = 0; i < length; i++) {
+            addElement(array, current, i);
+        }
+        object.add(this.name, array);
+    }
+
+    @Override
+    public void toJson(JsonWriter writer) throws IOException {
+        A current = value;
+        writer.name(this.name).beginArray();
+        for (int i = 0; i < length; i++) {
+            writeElement(writer, current, i);
+        }
+        writer.endArray();
+    }
+
+    /**
+     * Stores a clamped copy of the array. Values past the length of the
+     * default value are ignored, and missing values are left unchanged.
+     *
+     * @param value The value to store
+     */
+    @Override
+    protected void storeValue(A value) {
+        this.value = toStoredValue(value);
+    }
+
+    @Override
+    protected A toStoredValue(A value) {
+        A newValues = copyOf(this.value);
+        int size = Math.min(Array.getLength(value), length);
+        System.arraycopy(value, 0, newValues, 0, size);
+        clampRange(newValues, 0, size);
+        return newValues;
+    }
+
+    /**
+     * @return The number of elements
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Copies the current values into an array
+     *
+     * @param destination       The array to copy into
+     * @param destinationLength The length of destination
+     * @param offset            The position in the item to start copying from
+     */
+    protected final void copyRange(A destination, int destinationLength, int offset) {
+        checkPosition(offset);
+        System.arraycopy(value, offset, destination, 0, Math.min(destinationLength, length - offset));
+    }
+
+    /**
+     * Sets the values starting at offset, each clamped between min and max
+     *
+     * @param offset The position in the array to start at
+     * @param values The values to set
+     * @param count  The number of values
+     */
+    protected final void setRange(int offset, A values, int count) {
+        checkPosition(offset);
+        if (count > 0) {
+            checkPosition(offset + count - 1);
+        }
+        update(newValues -> {
+            System.arraycopy(values, 0, newValues, offset, count);
+            clampRange(newValues, offset, offset + count);
+        });
+    }
+
+    /**
+     * Changes a copy of the current array and publishes it, retrying if
+     * another thread changed the array first
+     *
+     * @param edit Changes the copy
+     */
+    protected final void update(Consumer<A> edit) {
+        change(() -> {
+            A current;
+            A newValues;
+            do {
+                current = this.value;
+                newValues = copyOf(current);
+                edit.accept(newValues);
+            } while (!compareAndSetValue(current, newValues));
+            return true;
+        });
+    }
+
+    protected final void checkPosition(int position) {
+        if (position < 0 || position >= length) {
+            throw new IndexOutOfBoundsException("Index " + position + " out of bounds for length " + length);
+        }
+    }
+
+    @Override
+    public boolean atDefaultValue() {
+        return valuesEqual(this.defaultValue, this.value);
+    }
+
+    @Override
+    public String getCommandValue() {
+        return join(this.value);
+    }
+
+    @Override
+    public String getCommandDefaultValue() {
+        return join(this.defaultValue);
+    }
+
+    private String join(A values) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            appendElement(builder, values, i);
+        }
+        return builder.toString();
+    }
+}
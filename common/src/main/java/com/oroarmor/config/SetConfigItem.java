@@ -0,0 +1,227 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link SetConfigItem} stores a set of the types supported by
+ * {@link ConfigCodec}, such as a list of blocked ids. The set is immutable
+ * and is only rebuilt when it changes, so {@link #contains(Object)} is a hash
+ * lookup that does not allocate. The set is saved as a JSON array, in the
+ * order the values were added.
+ *
+ * @param <T> The type of the values
+ * @author Eli Orona
+ */
+public class SetConfigItem<T> extends ConfigItem<Set<T>> {
+    /**
+     * The codec for the values
+     */
+    private final ConfigCodec<T> codec;
+
+    /**
+     * Creates a new config with the name, defaultValue, type, and details
+     *
+     * @param name         The name for the config item
+     * @param defaultValue The default value in case of a corrupted/missing config
+     * @param type         The type of the values
+     * @param details      A translatable string for readability in multiple
+     *                     languages
+     */
+    public SetConfigItem(String name, Collection<T> defaultValue, Class<T> type, String details) {
+        this(name, defaultValue, type, details, null);
+    }
+
+    /**
+     * Creates a new config with the name, defaultValue, type, details, and an
+     * onChange consumer
+     *
+     * @param name         The name for the config item
+     * @param defaultValue The default value in case of a corrupted/missing config
+     * @param type         The type of the values
+     * @param details      A translatable string for readability in multiple
+     *                     languages
+     * @param onChange     A {@link Consumer} that is run every time the config item
+     *                     is modified
+     */
+    public SetConfigItem(String name, Collection<T> defaultValue, Class<T> type, String details, @Nullable Consumer<ConfigItem<Set<T>>> onChange) {
+        super(name, copyOf(defaultValue), details, onChange);
+        this.codec = ConfigCodec.of(type);
+        if (this.codec == null) {
+            throw new IllegalArgumentException("Class " + type.getSimpleName() + " is an unsupported type");
+        }
+        this.value = this.defaultValue;
+    }
+
+    private static <T> Set<T> copyOf(Collection<T> values) {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(values));
+    }
+
+    /**
+     * @return The codec for the values
+     */
+    public ConfigCodec<T> getCodec() {
+        return codec;
+    }
+
+    @Override
+    public void fromJson(JsonElement element) {
+        Set<T> newValues = new LinkedHashSet<>();
+        for (JsonElement arrayElement : element.getAsJsonArray()) {
+            newValues.add(codec.fromJson(arrayElement));
+        }
+        this.value = Collections.unmodifiableSet(newValues);
+    }
+
+    @Override
+    public Runnable readJson(JsonReader reader) throws IOException {
+        Set<T> newValues = new LinkedHashSet<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            newValues.add(codec.fromJson(reader));
+        }
+        reader.endArray();
+        Set<T> read = Collections.unmodifiableSet(newValues);
+        return () -> this.value = read;
+    }
+
+    @Override
+    public void toJson(JsonObject object) {
+        JsonArray array = new JsonArray();
+        for (T t : value) {
+            array.add(codec.toJson(t));
+        }
+        object.add(this.name, array);
+    }
+
+    @Override
+    public void toJson(JsonWriter writer) throws IOException {
+        writer.name(this.name).beginArray();
+        for (T t : value) {
+            codec.toJson(writer, t);
+        }
+        writer.endArray();
+    }
+
+    @Override
+    public <S> boolean isValidType(Class<S> clazz) {
+        return clazz == Set.class;
+    }
+
+    /**
+     * Stores an immutable copy of the set
+     *
+     * @param value The value to store
+     */
+    @Override
+    protected void storeValue(Set<T> value) {
+        super.storeValue(copyOf(value));
+    }
+
+    /**
+     * @param element The value to look for
+     * @return True if the set contains the value
+     */
+    public boolean contains(T element) {
+        return this.value.contains(element);
+    }
+
+    /**
+     * @return The number of values in the set
+     */
+    public int size() {
+        return this.value.size();
+    }
+
+    /**
+     * Adds the value to the set
+     *
+     * @param element The value to add
+     * @return True if the value was not already in the set
+     */
+    public boolean add(T element) {
+        return change(() -> {
+            Set<T> current;
+            Set<T> newValues;
+            do {
+                current = this.value;
+                if (current.contains(element)) {
+                    return false;
+                }
+                LinkedHashSet<T> copy = new LinkedHashSet<>(current);
+                copy.add(element);
+                newValues = Collections.unmodifiableSet(copy);
+            } while (!compareAndSetValue(current, newValues));
+            return true;
+        });
+    }
+
+    /**
+     * Removes the value from the set
+     *
+     * @param element The value to remove
+     * @return True if the value was in the set
+     */
+    public boolean remove(T element) {
+        return change(() -> {
+            Set<T> current;
+            Set<T> newValues;
+            do {
+                current = this.value;
+                if (!current.contains(element)) {
+                    return false;
+                }
+                LinkedHashSet<T> copy = new LinkedHashSet<>(current);
+                copy.remove(element);
+                newValues = Collections.unmodifiableSet(copy);
+            } while (!compareAndSetValue(current, newValues));
+            return true;
+        });
+    }
+
+    @Override
+    public String getCommandValue() {
+        return this.value.stream().map(codec::toDisplayString).collect(Collectors.joining(","));
+    }
+
+    @Override
+    public String getCommandDefaultValue() {
+        return this.defaultValue.stream().map(codec::toDisplayString).collect(Collectors.joining(","));
+    }
+}
@@ -24,10 +24,13 @@
 
 package com.oroarmor.config;
 
+import java.io.IOException;
 import java.util.function.Consumer;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -47,11 +50,22 @@ public class StringConfigItem extends ConfigItem<String> {
         this.value = element.getAsString();
     }
 
+    @Override
+    public Runnable readJson(JsonReader reader) throws IOException {
+        String read = reader.nextString();
+        return () -> this.value = read;
+    }
+
     @Override
     public void toJson(JsonObject object) {
         object.addProperty(this.name, this.value);
     }
 
+    @Override
+    public void toJson(JsonWriter writer) throws IOException {
+        writer.name(this.name).value(this.value);
+    }
+
     @Override
     public <T> boolean isValidType(Class<T> clazz) {
         return clazz == String.class;
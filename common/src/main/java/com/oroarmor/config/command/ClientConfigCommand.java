@@ -29,7 +29,6 @@ import java.util.function.Predicate;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.oroarmor.config.Config;
-import com.oroarmor.config.ConfigItemGroup;
 
 import com.oroarmor.config.screen.ConfigScreen;
 import dev.architectury.platform.Platform;
@@ -55,13 +54,19 @@ public class ClientConfigCommand<S extends CommandSource> extends ConfigCommand<
 
     }
 
+    /**
+     * Creates a new ConfigCommand with the config
+     *
+     * @param config  The config
+     * @param compact True to register get and set commands with a path argument instead of a command for every item
+     */
+    public ClientConfigCommand(Config config, boolean compact) {
+        super(config, compact);
+    }
+
     @Override
     public void register(CommandDispatcher<S> dispatcher, Predicate<S> usable) {
-        LiteralArgumentBuilder<S> literalArgumentBuilder = LiteralArgumentBuilder.<S>literal(config.getID()).requires(usable).executes(this::listConfigGroups);
-
-        for (ConfigItemGroup group : config.getConfigs()) {
-            parseConfigItemGroupCommand(literalArgumentBuilder, group);
-        }
+        LiteralArgumentBuilder<S> literalArgumentBuilder = createCommand(usable);
 
         literalArgumentBuilder.then(LiteralArgumentBuilder.<S>literal("gui").executes(context -> {
             if(Platform.isModLoaded("cloth-config")){
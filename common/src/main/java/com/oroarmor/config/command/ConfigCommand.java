@@ -24,13 +24,26 @@
 
 package com.oroarmor.config.command;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import com.mojang.brigadier.CommandDispatcher;
-import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.LiteralMessage;
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.DynamicCommandExceptionType;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import com.oroarmor.config.Config;
 import com.oroarmor.config.ConfigItem;
 import com.oroarmor.config.ConfigItemGroup;
@@ -45,6 +58,7 @@ import net.minecraft.text.HoverEvent.Action;
 import net.minecraft.text.MutableText;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
+import net.minecraft.util.Language;
 import net.minecraft.util.Util;
 
 /**
@@ -52,23 +66,63 @@ import net.minecraft.util.Util;
  * <br>
  * Register with:
  * <code>CommandRegistrationCallback.EVENT.register(new ConfigCommand(yourConfigInstance));</code>
+ * <br>
+ * <br>
+ * By default there is a literal command for every group and item. Large
+ * configs can use {@link #ConfigCommand(Config, boolean) compact} commands
+ * instead, <code>/&lt;modid&gt; get &lt;path&gt;</code> and
+ * <code>/&lt;modid&gt; set &lt;path&gt; &lt;value&gt;</code>, which are the
+ * same size no matter how many items the config has.
  *
  * @author Eli Orona
  */
 public class ConfigCommand<S extends CommandSource> {
 
+    /**
+     * The number of lines on each page of a listing
+     */
+    protected static final int PAGE_SIZE = 10;
+
+    private static final DynamicCommandExceptionType UNKNOWN_PATH = new DynamicCommandExceptionType(path -> new LiteralMessage("Unknown config path " + path));
+
+    private static final DynamicCommandExceptionType GROUP_PATH = new DynamicCommandExceptionType(path -> new LiteralMessage(path + " is a group"));
+
+    private static final DynamicCommandExceptionType NOT_GROUP_PATH = new DynamicCommandExceptionType(path -> new LiteralMessage(path + " is not a group"));
+
     /**
      * The config
      */
     protected final Config config;
 
+    /**
+     * True to register get and set commands with a path argument instead of a
+     * command for every item
+     */
+    protected final boolean compact;
+
+    /**
+     * The text for each item, from {@link #getItemText(ConfigItem)}
+     */
+    private final Map<ConfigItem<?>, CachedText> itemTexts = new ConcurrentHashMap<>();
+
     /**
      * Creates a new ConfigCommand with the config
      *
      * @param config The config
      */
     public ConfigCommand(Config config) {
+        this(config, false);
+    }
+
+    /**
+     * Creates a new ConfigCommand with the config
+     *
+     * @param config  The config
+     * @param compact True to register get and set commands with a path argument instead of a command for every item
+     */
+    public ConfigCommand(Config config, boolean compact) {
         this.config = config;
+        this.compact = compact;
     }
 
     protected MutableText createItemText(ConfigItem<?> item) {
@@ -81,37 +135,70 @@ public class ConfigCommand<S extends CommandSource> {
         return configListText;
     }
 
-    protected int listConfigGroup(CommandContext<S> c, ConfigItemGroup group) {
-        MutableText configList = Text.literal("");
-
-        configList.append(Text.literal(group.getName() + "\n").formatted(Formatting.BOLD));
-        for (ConfigItem<?> item : group.getConfigs())
-            parseConfigItemText(configList, item, "  ");
-
-        configList.append("/");
-
-        try {
-            sendFeedback(c, configList);
-        } catch (CommandSyntaxException e) {
-            e.printStackTrace();
+    /**
+     * Gets the text for an item from {@link #createItemText(ConfigItem)}, which
+     * is kept until the item's value or the language changes
+     *
+     * @param item The item
+     * @return The text for the item
+     */
+    protected Text getItemText(ConfigItem<?> item) {
+        Object value = item.getValue();
+        Language language = Language.getInstance();
+        CachedText cached = itemTexts.get(item);
+        // Values are replaced rather than changed in place, so the same value means the text is up to date
+        if (cached == null || cached.value != value || cached.language != language) {
+            cached = new CachedText(value, language, createItemText(item));
+            itemTexts.put(item, cached);
         }
+        return cached.text;
+    }
 
-        return 1;
+    protected int listConfigGroup(CommandContext<S> c, ConfigItemGroup group) {
+        return listConfigGroup(c, group, 1, "");
+    }
+
+    /**
+     * Lists a page of the items in the group
+     *
+     * @param c      The command context
+     * @param group  The group
+     * @param page   The page, starting at 1
+     * @param filter Text that the names of the listed items contain, or empty to list every item
+     * @return 1
+     */
+    protected int listConfigGroup(CommandContext<S> c, ConfigItemGroup group, int page, String filter) {
+        ListingPage listing = new ListingPage(page, filter);
+        listing.addGroup(group, "", "  ", "/");
+        return listing.send(c);
     }
 
     protected int listConfigGroups(CommandContext<S> c) {
-        MutableText configList = Text.literal("");
+        return listConfigGroups(c, 1, "");
+    }
 
+    /**
+     * Lists a page of the items in the config
+     *
+     * @param c      The command context
+     * @param page   The page, starting at 1
+     * @param filter Text that the names of the listed items contain, or empty to list every item
+     * @return 1
+     */
+    protected int listConfigGroups(CommandContext<S> c, int page, String filter) {
+        ListingPage listing = new ListingPage(page, filter);
         for (ConfigItemGroup group : config.getConfigs()) {
-            configList.append(Text.literal(group.getName() + "\n").formatted(Formatting.BOLD));
-            for (ConfigItem<?> item : group.getConfigs()) {
-                parseConfigItemText(configList, item, "  ");
+            if (!listing.addGroup(group, "", "  ", "/")) {
+                break;
             }
-            configList.append("/");
         }
+        return listing.send(c);
+    }
 
+    protected int listItem(CommandContext<S> c, ConfigItem<?> item) {
         try {
-            sendFeedback(c, configList);
+            Text text = getItemText(item);
+            sendFeedback(c, text);
         } catch (CommandSyntaxException e) {
             e.printStackTrace();
         }
@@ -119,25 +206,12 @@ public class ConfigCommand<S extends CommandSource> {
         return 1;
     }
 
-    protected void parseConfigItemText(MutableText configList, ConfigItem<?> item, String padding) {
-        configList.append(padding);
-        configList.append("|--> ");
-        if (item instanceof ConfigItemGroup) {
-            configList.append(Text.literal(item.getName() + "\n").formatted(Formatting.BOLD));
-            for (ConfigItem<?> item2 : ((ConfigItemGroup) item).getConfigs()) {
-                parseConfigItemText(configList, item2, padding + "| ");
-            }
-            configList.append(padding + "/\n");
-        } else {
-            configList.append(createItemText(item));
-            configList.append("\n");
-        }
-    }
-
-    protected int listItem(CommandContext<S> c, ConfigItem<?> item) {
+    protected int listStats(CommandContext<S> c) {
         try {
-            Text text = createItemText(item);
-            sendFeedback(c, text);
+            MutableText stats = Text.literal("");
+            stats.append(Text.literal(config.getID() + " stats\n").formatted(Formatting.BOLD));
+            stats.append(config.getMetrics().toString());
+            sendFeedback(c, stats);
         } catch (CommandSyntaxException e) {
             e.printStackTrace();
         }
@@ -154,36 +228,337 @@ public class ConfigCommand<S extends CommandSource> {
     }
 
     /**
-     * Registers the command to the dispatcher
+     * Registers the command to the dispatcher, along with a <code>stats</code>
+     * subcommand that lists the config's {@link com.oroarmor.config.ConfigMetrics}
      *
      * @param dispatcher The dispatcher
      * @param usable     A predicate to say if the command is usable
      */
     public void register(CommandDispatcher<S> dispatcher, Predicate<S> usable) {
+        dispatcher.register(createCommand(usable));
+    }
+
+    /**
+     * Creates the command for the config, with commands for its items and the
+     * <code>stats</code> subcommand. The subcommand is left out if a group is
+     * named <code>stats</code>, so that the group's command is kept.
+     *
+     * @param usable A predicate to say if the command is usable
+     * @return The command
+     */
+    protected LiteralArgumentBuilder<S> createCommand(Predicate<S> usable) {
         LiteralArgumentBuilder<S> literalArgumentBuilder = LiteralArgumentBuilder.<S>literal(config.getID()).requires(usable).executes(this::listConfigGroups);
+        literalArgumentBuilder.then(pageArguments((c, page, filter) -> listConfigGroups(c, page, filter)));
 
-        for (ConfigItemGroup group : config.getConfigs()) {
-            parseConfigItemGroupCommand(literalArgumentBuilder, group);
+        if (compact) {
+            addPathCommands(literalArgumentBuilder);
+        } else {
+            for (ConfigItemGroup group : config.getConfigs()) {
+                parseConfigItemGroupCommand(literalArgumentBuilder, group);
+            }
+        }
+        if (literalArgumentBuilder.getArguments().stream().anyMatch(node -> node.getName().equals("stats"))) {
+            System.err.printf("Config %s has a group named stats, so /%s stats shows the group instead of the config's stats\n", config.getID(), config.getID());
+        } else {
+            literalArgumentBuilder.then(LiteralArgumentBuilder.<S>literal("stats").executes(this::listStats));
         }
 
-        dispatcher.register(literalArgumentBuilder);
+        return literalArgumentBuilder;
+    }
+
+    /**
+     * Adds the <code>get &lt;path&gt;</code> and <code>set &lt;path&gt; &lt;value&gt;</code>
+     * commands, which find the item with {@link Config#getConfig(String)}
+     *
+     * @param literalArgumentBuilder The command for the config
+     */
+    protected void addPathCommands(LiteralArgumentBuilder<S> literalArgumentBuilder) {
+        literalArgumentBuilder.then(LiteralArgumentBuilder.<S>literal("get")
+                .then(RequiredArgumentBuilder.<S, String>argument("path", StringArgumentType.word())
+                        .suggests((c, builder) -> suggestPaths(builder))
+                        .executes(c -> {
+                            ConfigItem<?> item = getItem(c);
+                            return item instanceof ConfigItemGroup ? listConfigGroup(c, (ConfigItemGroup) item) : listItem(c, item);
+                        })
+                        .then(pageArguments((c, page, filter) -> {
+                            ConfigItem<?> item = getItem(c);
+                            if (!(item instanceof ConfigItemGroup)) {
+                                throw NOT_GROUP_PATH.create(StringArgumentType.getString(c, "path"));
+                            }
+                            return listConfigGroup(c, (ConfigItemGroup) item, page, filter);
+                        }))));
+
+        literalArgumentBuilder.then(LiteralArgumentBuilder.<S>literal("set")
+                .then(RequiredArgumentBuilder.<S, String>argument("path", StringArgumentType.word())
+                        .suggests((c, builder) -> suggestPaths(builder))
+                        .then(RequiredArgumentBuilder.<S, String>argument("value", StringArgumentType.greedyString())
+                                .suggests((c, builder) -> {
+                                    ConfigItem<?> item = config.getConfig(StringArgumentType.getString(c, "path"));
+                                    return item == null || item instanceof ConfigItemGroup ? builder.buildFuture() : suggestValues(item, builder);
+                                })
+                                .executes(c -> {
+                                    ConfigItem<?> item = getItem(c);
+                                    if (item instanceof ConfigItemGroup) {
+                                        throw GROUP_PATH.create(StringArgumentType.getString(c, "path"));
+                                    }
+                                    setFromString(item, StringArgumentType.getString(c, "value"));
+                                    config.requestSave();
+                                    return 1;
+                                }))));
+    }
+
+    /**
+     * Creates the <code>&lt;page&gt; [filter]</code> arguments for a listing
+     *
+     * @param listing The listing to run with the page and filter
+     * @return The page argument
+     */
+    protected RequiredArgumentBuilder<S, Integer> pageArguments(PagedListing<S> listing) {
+        return RequiredArgumentBuilder.<S, Integer>argument("page", IntegerArgumentType.integer(1))
+                .executes(c -> listing.list(c, IntegerArgumentType.getInteger(c, "page"), ""))
+                .then(RequiredArgumentBuilder.<S, String>argument("filter", StringArgumentType.greedyString())
+                        .executes(c -> listing.list(c, IntegerArgumentType.getInteger(c, "page"), StringArgumentType.getString(c, "filter"))));
+    }
+
+    /**
+     * Suggests the paths one level below the last complete segment of the
+     * path typed so far
+     *
+     * @param builder The builder, starting at the path
+     * @return The suggestions
+     */
+    private CompletableFuture<Suggestions> suggestPaths(SuggestionsBuilder builder) {
+        String typed = builder.getRemaining();
+        int dot = typed.lastIndexOf('.');
+        List<? extends ConfigItem<?>> children;
+        if (dot < 0) {
+            children = config.getConfigs();
+        } else {
+            ConfigItem<?> parent = config.getConfig(typed.substring(0, dot));
+            if (!(parent instanceof ConfigItemGroup)) {
+                return builder.buildFuture();
+            }
+            children = ((ConfigItemGroup) parent).getConfigs();
+        }
+
+        String prefix = typed.substring(0, dot + 1);
+        String partial = typed.substring(dot + 1).toLowerCase(Locale.ROOT);
+        for (ConfigItem<?> child : children) {
+            if (child.getName().toLowerCase(Locale.ROOT).startsWith(partial)) {
+                builder.suggest(prefix + child.getName());
+            }
+        }
+        return builder.buildFuture();
+    }
+
+    private ConfigItem<?> getItem(CommandContext<S> c) throws CommandSyntaxException {
+        String path = StringArgumentType.getString(c, "path");
+        ConfigItem<?> item = config.getConfig(path);
+        if (item == null) {
+            throw UNKNOWN_PATH.create(path);
+        }
+        return item;
+    }
+
+    private static <T> void setFromString(ConfigItem<T> configItem, String text) throws CommandSyntaxException {
+        StringReader reader = new StringReader(text);
+        ConfigItemCommands.getCommandBuilder(configItem).setFromString(configItem, reader);
+        if (reader.canRead()) {
+            throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherUnknownArgument().createWithContext(reader);
+        }
+    }
+
+    private static <T> CompletableFuture<Suggestions> suggestValues(ConfigItem<T> configItem, SuggestionsBuilder builder) {
+        return ConfigItemCommands.getCommandBuilder(configItem).suggestValues(configItem, builder);
     }
 
     protected void parseConfigItemGroupCommand(LiteralArgumentBuilder<S> literalArgumentBuilder, ConfigItemGroup group) {
         LiteralArgumentBuilder<S> configGroupCommand = LiteralArgumentBuilder.<S>literal(group.getName()).executes((c) -> listConfigGroup(c, group));
+        configGroupCommand.then(pageArguments((c, page, filter) -> listConfigGroup(c, group, page, filter)));
         for (ConfigItem<?> item : group.getConfigs()) {
             if (item instanceof ConfigItemGroup) {
                 parseConfigItemGroupCommand(configGroupCommand, (ConfigItemGroup) item);
             } else {
                 LiteralArgumentBuilder<S> configItemCommand = LiteralArgumentBuilder.<S>literal(item.getName()).executes((c) -> listItem(c, item));
-                configItemCommand.then(getCommand(item, group, config));
+                addCommands(configItemCommand, item, group, config);
                 configGroupCommand.then(configItemCommand);
             }
         }
         literalArgumentBuilder.then(configGroupCommand);
     }
 
-    private <T> ArgumentBuilder<S, ?> getCommand(ConfigItem<T> configItem, ConfigItemGroup group, Config config) {
-        return ConfigItemCommands.getCommandBuilder(configItem).getCommand(configItem, group, config);
+    private <T> void addCommands(LiteralArgumentBuilder<S> itemCommand, ConfigItem<T> configItem, ConfigItemGroup group, Config config) {
+        ConfigItemCommands.getCommandBuilder(configItem).addCommands(itemCommand, configItem, group, config);
+    }
+
+    /**
+     * A listing that can be paged and filtered
+     *
+     * @param <S> The command source type
+     */
+    @FunctionalInterface
+    protected interface PagedListing<S> {
+        int list(CommandContext<S> c, int page, String filter) throws CommandSyntaxException;
+    }
+
+    /**
+     * Builds one page of a listing. The config is walked in order and only the
+     * lines on the page are turned into text, stopping at the first line after
+     * the page. A group's header is only counted once one of its items matches
+     * the filter.
+     */
+    protected final class ListingPage {
+        private final int page;
+        private final int first;
+        private final int end;
+        private final String filter;
+        private final MutableText text = Text.literal("");
+
+        /**
+         * The headers of the groups being walked that have no matching items yet
+         */
+        private final List<Text> pendingHeaders = new ArrayList<>();
+
+        /**
+         * The number of lines found so far
+         */
+        private int lines;
+
+        /**
+         * True if a line was found after the page
+         */
+        private boolean more;
+
+        /**
+         * True if the text is empty or ends with a new line
+         */
+        private boolean lineEnded = true;
+
+        /**
+         * @param page   The page, starting at 1
+         * @param filter Text that the names of the listed items contain, or empty to list every item
+         */
+        protected ListingPage(int page, String filter) {
+            this.page = page;
+            this.first = (page - 1) * PAGE_SIZE;
+            this.end = first + PAGE_SIZE;
+            this.filter = filter.toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * Adds the lines for a group and its items
+         *
+         * @param group        The group
+         * @param prefix       The text before the group's name
+         * @param childPadding The padding for the items in the group
+         * @param closer       The line after the group's items
+         * @return False once a line after the page has been found
+         */
+        protected boolean addGroup(ConfigItemGroup group, String prefix, String childPadding, String closer) {
+            int depth = pendingHeaders.size();
+            pendingHeaders.add(Text.literal(prefix).append(Text.literal(group.getName() + "\n").formatted(Formatting.BOLD)));
+            if (filter.isEmpty() && !addPendingHeaders()) {
+                return false;
+            }
+
+            for (ConfigItem<?> item : group.getConfigs()) {
+                if (item instanceof ConfigItemGroup) {
+                    if (!addGroup((ConfigItemGroup) item, childPadding + "|--> ", childPadding + "| ", childPadding + "/\n")) {
+                        return false;
+                    }
+                } else if (filter.isEmpty() || item.getName().toLowerCase(Locale.ROOT).contains(filter)) {
+                    if (!addItem(item, childPadding + "|--> ")) {
+                        return false;
+                    }
+                }
+            }
+
+            if (pendingHeaders.size() > depth) {
+                pendingHeaders.remove(depth);
+                return true;
+            }
+            return addLine(Text.literal(closer));
+        }
+
+        private boolean addItem(ConfigItem<?> item, String prefix) {
+            if (!addPendingHeaders()) {
+                return false;
+            }
+            if (lines >= end) {
+                more = true;
+                return false;
+            }
+            if (lines++ >= first) {
+                text.append(prefix).append(getItemText(item)).append("\n");
+                lineEnded = true;
+            }
+            return true;
+        }
+
+        private boolean addPendingHeaders() {
+            for (Text header : pendingHeaders) {
+                if (!addLine(header)) {
+                    return false;
+                }
+            }
+            pendingHeaders.clear();
+            return true;
+        }
+
+        private boolean addLine(Text line) {
+            if (lines >= end) {
+                more = true;
+                return false;
+            }
+            if (lines++ >= first) {
+                text.append(line);
+                lineEnded = line.getString().endsWith("\n");
+            }
+            return true;
+        }
+
+        /**
+         * Sends the page, followed by the page number
+         *
+         * @param c The command context
+         * @return 1
+         */
+        protected int send(CommandContext<S> c) {
+            if (!lineEnded) {
+                text.append("\n");
+            }
+
+            String footer;
+            if (lines == 0) {
+                footer = "No matching items";
+            } else if (lines <= first) {
+                footer = "Page " + page + " is empty, the last page is " + ((lines + PAGE_SIZE - 1) / PAGE_SIZE);
+            } else if (more) {
+                footer = "Page " + page + ", more on page " + (page + 1);
+            } else {
+                footer = "Page " + page + " of " + page;
+            }
+            text.append(Text.literal(footer).formatted(Formatting.GRAY));
+
+            try {
+                sendFeedback(c, text);
+            } catch (CommandSyntaxException e) {
+                e.printStackTrace();
+            }
+
+            return 1;
+        }
+    }
+
+    private static final class CachedText {
+        private final Object value;
+        private final Language language;
+        private final Text text;
+
+        private CachedText(Object value, Language language, Text text) {
+            this.value = value;
+            this.language = language;
+            this.text = text;
+        }
     }
 }
@@ -24,9 +24,17 @@
 
 package com.oroarmor.config.command;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
+import com.mojang.brigadier.LiteralMessage;
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.arguments.ArgumentType;
 import com.mojang.brigadier.arguments.BoolArgumentType;
 import com.mojang.brigadier.arguments.DoubleArgumentType;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
@@ -34,7 +42,12 @@ import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.ArgumentBuilder;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import com.oroarmor.config.*;
+import com.oroarmor.config.registry.RegistryConfigItem;
 
 import net.minecraft.command.CommandSource;
 
@@ -44,7 +57,23 @@ import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
  * Storage and registration for the commands to set config items
  */
 public final class ConfigItemCommands {
-    private static final Map<Class<? extends ConfigItem<?>>, CommandBuilder<?>> COMMANDS = new HashMap<>();
+    private static final Map<Class<?>, CommandBuilder<?>> COMMANDS = new ConcurrentHashMap<>();
+
+    /**
+     * The builder found for each config item class, including subclasses of
+     * registered classes. Replaced whenever a builder is registered.
+     */
+    private static volatile ClassValue<CommandBuilder<?>> lookup = newLookup();
+
+    /**
+     * Used for config items without a builder
+     */
+    private static final CommandBuilder<?> UNKNOWN = new CommandBuilder<Object>() {
+        @Override
+        public <S extends CommandSource> ArgumentBuilder<S, ?> getCommand(ConfigItem<Object> configItem, ConfigItemGroup group, Config config) {
+            throw new IllegalArgumentException("Unknown Config Type");
+        }
+    };
 
     static {
         register(BooleanConfigItem.class, new CommandBuilder<Boolean>() {
@@ -52,11 +81,21 @@ public final class ConfigItemCommands {
             public <S extends CommandSource> ArgumentBuilder<S, ?> getCommand(ConfigItem<Boolean> configItem, ConfigItemGroup group, Config config) {
                 return RequiredArgumentBuilder.<S, Boolean>argument("boolean", BoolArgumentType.bool()).executes(c -> {
                     boolean result = BoolArgumentType.getBool(c, "boolean");
-                    configItem.setValue(result);
-                    config.saveConfigToFile();
+                    ((BooleanConfigItem) configItem).setBoolean(result);
+                    config.requestSave();
                     return 1;
                 });
             }
+
+            @Override
+            public void setFromString(ConfigItem<Boolean> configItem, StringReader reader) throws CommandSyntaxException {
+                ((BooleanConfigItem) configItem).setBoolean(reader.readBoolean());
+            }
+
+            @Override
+            public CompletableFuture<Suggestions> suggestValues(ConfigItem<Boolean> configItem, SuggestionsBuilder builder) {
+                return CommandSource.suggestMatching(new String[]{"true", "false"}, builder);
+            }
         });
         register(DoubleConfigItem.class, new CommandBuilder<Double>() {
             @Override
@@ -64,11 +103,17 @@ public final class ConfigItemCommands {
                 DoubleConfigItem doubleConfigItem = (DoubleConfigItem) configItem;
                 return RequiredArgumentBuilder.<S, Double>argument("double", DoubleArgumentType.doubleArg(doubleConfigItem.getMin(), doubleConfigItem.getMax())).executes(c -> {
                     double result = DoubleArgumentType.getDouble(c, "double");
-                    doubleConfigItem.setValue(result);
-                    config.saveConfigToFile();
+                    doubleConfigItem.setDouble(result);
+                    config.requestSave();
                     return 1;
                 });
             }
+
+            @Override
+            public void setFromString(ConfigItem<Double> configItem, StringReader reader) throws CommandSyntaxException {
+                DoubleConfigItem doubleConfigItem = (DoubleConfigItem) configItem;
+                doubleConfigItem.setDouble(DoubleArgumentType.doubleArg(doubleConfigItem.getMin(), doubleConfigItem.getMax()).parse(reader));
+            }
         });
         register(IntegerConfigItem.class, new CommandBuilder<Integer>() {
             @Override
@@ -76,11 +121,17 @@ public final class ConfigItemCommands {
                 IntegerConfigItem integerConfigItem = (IntegerConfigItem) configItem;
                 return RequiredArgumentBuilder.<S, Integer>argument("int", IntegerArgumentType.integer(integerConfigItem.getMin(), integerConfigItem.getMax())).executes(c -> {
                     int result = IntegerArgumentType.getInteger(c, "int");
-                    integerConfigItem.setValue(result);
-                    config.saveConfigToFile();
+                    integerConfigItem.setInt(result);
+                    config.requestSave();
                     return 1;
                 });
             }
+
+            @Override
+            public void setFromString(ConfigItem<Integer> configItem, StringReader reader) throws CommandSyntaxException {
+                IntegerConfigItem integerConfigItem = (IntegerConfigItem) configItem;
+                integerConfigItem.setInt(IntegerArgumentType.integer(integerConfigItem.getMin(), integerConfigItem.getMax()).parse(reader));
+            }
         });
         register(EnumConfigItem.class, new EnumCommandBuilder<>());
         register(StringConfigItem.class, new CommandBuilder<String>() {
@@ -89,12 +140,82 @@ public final class ConfigItemCommands {
                 return RequiredArgumentBuilder.<S, String>argument("string", StringArgumentType.string()).executes(c -> {
                     String result = StringArgumentType.getString(c, "string");
                     configItem.setValue(result);
-                    config.saveConfigToFile();
+                    config.requestSave();
                     return 1;
                 });
             }
+
+            @Override
+            public void setFromString(ConfigItem<String> configItem, StringReader reader) throws CommandSyntaxException {
+                configItem.setValue(StringArgumentType.greedyString().parse(reader));
+            }
         });
         register(ArrayConfigItem.class, new ArrayCommandBuilder<>());
+        register(SetConfigItem.class, new SetCommandBuilder<>());
+        register(CodecConfigItem.class, new CodecCommandBuilder<>());
+        register(IntArrayConfigItem.class, new CommandBuilder<int[]>() {
+            @Override
+            public <S extends CommandSource> ArgumentBuilder<S, ?> getCommand(ConfigItem<int[]> configItem, ConfigItemGroup group, Config config) {
+                IntArrayConfigItem arrayConfigItem = (IntArrayConfigItem) configItem;
+                return RequiredArgumentBuilder.<S, Integer>argument("index", IntegerArgumentType.integer(0, arrayConfigItem.length() - 1))
+                        .then(RequiredArgumentBuilder.<S, Integer>argument("int", IntegerArgumentType.integer(arrayConfigItem.getMin(), arrayConfigItem.getMax())).executes(c -> {
+                            int result = IntegerArgumentType.getInteger(c, "int");
+                            int index = IntegerArgumentType.getInteger(c, "index");
+                            arrayConfigItem.setInt(index, result);
+                            config.requestSave();
+                            return 1;
+                        }));
+            }
+
+            @Override
+            public void setFromString(ConfigItem<int[]> configItem, StringReader reader) throws CommandSyntaxException {
+                IntArrayConfigItem arrayConfigItem = (IntArrayConfigItem) configItem;
+                int index = readIndex(reader, arrayConfigItem.length());
+                arrayConfigItem.setInt(index, IntegerArgumentType.integer(arrayConfigItem.getMin(), arrayConfigItem.getMax()).parse(reader));
+            }
+        });
+        register(DoubleArrayConfigItem.class, new CommandBuilder<double[]>() {
+            @Override
+            public <S extends CommandSource> ArgumentBuilder<S, ?> getCommand(ConfigItem<double[]> configItem, ConfigItemGroup group, Config config) {
+                DoubleArrayConfigItem arrayConfigItem = (DoubleArrayConfigItem) configItem;
+                return RequiredArgumentBuilder.<S, Integer>argument("index", IntegerArgumentType.integer(0, arrayConfigItem.length() - 1))
+                        .then(RequiredArgumentBuilder.<S, Double>argument("double", DoubleArgumentType.doubleArg(arrayConfigItem.getMin(), arrayConfigItem.getMax())).executes(c -> {
+                            double result = DoubleArgumentType.getDouble(c, "double");
+                            int index = IntegerArgumentType.getInteger(c, "index");
+                            arrayConfigItem.setDouble(index, result);
+                            config.requestSave();
+                            return 1;
+                        }));
+            }
+
+            @Override
+            public void setFromString(ConfigItem<double[]> configItem, StringReader reader) throws CommandSyntaxException {
+                DoubleArrayConfigItem arrayConfigItem = (DoubleArrayConfigItem) configItem;
+                int index = readIndex(reader, arrayConfigItem.length());
+                arrayConfigItem.setDouble(index, DoubleArgumentType.doubleArg(arrayConfigItem.getMin(), arrayConfigItem.getMax()).parse(reader));
+            }
+        });
+        register(BooleanArrayConfigItem.class, new CommandBuilder<BitSet>() {
+            @Override
+            public <S extends CommandSource> ArgumentBuilder<S, ?> getCommand(ConfigItem<BitSet> configItem, ConfigItemGroup group, Config config) {
+                BooleanArrayConfigItem arrayConfigItem = (BooleanArrayConfigItem) configItem;
+                return RequiredArgumentBuilder.<S, Integer>argument("index", IntegerArgumentType.integer(0, arrayConfigItem.length() - 1))
+                        .then(RequiredArgumentBuilder.<S, Boolean>argument("boolean", BoolArgumentType.bool()).executes(c -> {
+                            boolean result = BoolArgumentType.getBool(c, "boolean");
+                            int index = IntegerArgumentType.getInteger(c, "index");
+                            arrayConfigItem.setBoolean(index, result);
+                            config.requestSave();
+                            return 1;
+                        }));
+            }
+
+            @Override
+            public void setFromString(ConfigItem<BitSet> configItem, StringReader reader) throws CommandSyntaxException {
+                BooleanArrayConfigItem arrayConfigItem = (BooleanArrayConfigItem) configItem;
+                int index = readIndex(reader, arrayConfigItem.length());
+                arrayConfigItem.setBoolean(index, reader.readBoolean());
+            }
+        });
     }
 
     /**
@@ -110,24 +231,36 @@ public final class ConfigItemCommands {
         }
 
         COMMANDS.put(configItemClass, builder);
+        lookup = newLookup();
+    }
+
+    private static ClassValue<CommandBuilder<?>> newLookup() {
+        return new ClassValue<CommandBuilder<?>>() {
+            @Override
+            protected CommandBuilder<?> computeValue(Class<?> type) {
+                for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                    CommandBuilder<?> builder = COMMANDS.get(current);
+                    if (builder != null) {
+                        return builder;
+                    }
+                }
+                return UNKNOWN;
+            }
+        };
     }
 
     /**
-     * Gets the config builder for the config item
+     * Gets the config builder for the config item, or the builder of its
+     * closest registered superclass
      *
      * @param configItem The config item to get the builder for
      * @param <T>        The type of the config item's value
      * @param <C>        The type for the config item
-     * @return
+     * @return The builder
      */
     @SuppressWarnings("unchecked")
     public static <T, C extends ConfigItem<T>> CommandBuilder<T> getCommandBuilder(C configItem) {
-        return (CommandBuilder<T>) COMMANDS.getOrDefault(configItem.getClass(), new CommandBuilder<T>() {
-            @Override
-            public <S extends CommandSource> ArgumentBuilder<S, ?> getCommand(ConfigItem<T> configItem, ConfigItemGroup group, Config config) {
-                throw new IllegalArgumentException("Unknown Config Type");
-            }
-        });
+        return (CommandBuilder<T>) lookup.get(configItem.getClass());
     }
 
     /**
@@ -146,6 +279,46 @@ public final class ConfigItemCommands {
          * @return A command for the config item
          */
         <S extends CommandSource> ArgumentBuilder<S, ?> getCommand(ConfigItem<T> configItem, ConfigItemGroup group, Config config);
+
+        /**
+         * Adds the commands for the config item to the item's literal. By
+         * default this adds {@link #getCommand(ConfigItem, ConfigItemGroup, Config)}.
+         * Override this to add more than one sub command.
+         *
+         * @param itemCommand The literal for the item, which lists the item when run
+         * @param configItem  The config item
+         * @param group       The group for the item
+         * @param config      The config for the item
+         * @param <S>         The command source type
+         */
+        default <S extends CommandSource> void addCommands(LiteralArgumentBuilder<S> itemCommand, ConfigItem<T> configItem, ConfigItemGroup group, Config config) {
+            itemCommand.then(getCommand(configItem, group, config));
+        }
+
+        /**
+         * Sets the config item from the text typed after its path in the
+         * compact command, which has one argument for every item instead of a
+         * command per item. By default the item can not be set this way.
+         *
+         * @param configItem The config item
+         * @param reader     The reader for the text after the path
+         * @throws CommandSyntaxException If the text is not a valid value
+         */
+        default void setFromString(ConfigItem<T> configItem, StringReader reader) throws CommandSyntaxException {
+            throw new SimpleCommandExceptionType(new LiteralMessage(configItem.getName() + " can not be set by path")).createWithContext(reader);
+        }
+
+        /**
+         * Suggests the text for {@link #setFromString(ConfigItem, StringReader)}.
+         * By default nothing is suggested.
+         *
+         * @param configItem The config item
+         * @param builder    The builder, starting after the path
+         * @return The suggestions
+         */
+        default CompletableFuture<Suggestions> suggestValues(ConfigItem<T> configItem, SuggestionsBuilder builder) {
+            return builder.buildFuture();
+        }
     }
 
     private static class ArrayCommandBuilder<T> implements CommandBuilder<T[]> {
@@ -154,80 +327,288 @@ public final class ConfigItemCommands {
         public <S extends CommandSource> ArgumentBuilder<S, ?> getCommand(ConfigItem<T[]> configItem, ConfigItemGroup group, Config config) {
             ArgumentBuilder<S, ?> setCommand;
             ArrayConfigItem<T> arrayConfigItem = (ArrayConfigItem<T>) configItem;
-            switch (arrayConfigItem.getDefaultValue()[0].getClass().isEnum() ? "ENUM" : arrayConfigItem.getDefaultValue()[0].getClass().getSimpleName().toUpperCase()) {
-                case "BOOLEAN":
+            ConfigCodec<T> codec = arrayConfigItem.getCodec();
+            if (codec == null) {
+                throw new IllegalStateException("Class " + arrayConfigItem.getDefaultValue()[0].getClass().getSimpleName() + " is an unsupported type");
+            }
+
+            switch (codec.getKind()) {
+                case BOOLEAN:
                     setCommand = RequiredArgumentBuilder.<S, Boolean>argument("boolean", BoolArgumentType.bool()).executes(c -> {
                         boolean result = BoolArgumentType.getBool(c, "boolean");
                         int index = IntegerArgumentType.getInteger(c, "index");
                         arrayConfigItem.setValue((T) (Object) result, index);
-                        config.saveConfigToFile();
+                        config.requestSave();
                         return 1;
                     });
                     break;
 
-                case "INTEGER":
+                case INTEGER:
                     setCommand = RequiredArgumentBuilder.<S, Integer>argument("int", IntegerArgumentType.integer()).executes(c -> {
                         int result = IntegerArgumentType.getInteger(c, "int");
                         int index = IntegerArgumentType.getInteger(c, "index");
                         arrayConfigItem.setValue((T) (Object) result, index);
-                        config.saveConfigToFile();
+                        config.requestSave();
                         return 1;
                     });
                     break;
-                case "DOUBLE":
+                case DOUBLE:
                     setCommand = RequiredArgumentBuilder.<S, Double>argument("double", DoubleArgumentType.doubleArg()).executes(c -> {
                         double result = DoubleArgumentType.getDouble(c, "double");
                         int index = IntegerArgumentType.getInteger(c, "index");
                         arrayConfigItem.setValue((T) (Object) result, index);
-                        config.saveConfigToFile();
+                        config.requestSave();
                         return 1;
                     });
                     break;
 
-                case "STRING":
+                case STRING:
                     setCommand = RequiredArgumentBuilder.<S, String>argument("string", StringArgumentType.greedyString()).executes(c -> {
                         String result = StringArgumentType.getString(c, "string");
                         int index = IntegerArgumentType.getInteger(c, "index");
                         arrayConfigItem.setValue((T) result, index);
-                        config.saveConfigToFile();
+                        config.requestSave();
                         return 1;
                     });
                     break;
 
-                case "ENUM":
+                case ENUM:
                     setCommand = literal("set");
-                    Enum<?>[] enums = ((Enum<?>) arrayConfigItem.getValue()[0]).getClass().getEnumConstants();
+                    Enum<?>[] enums = ((ConfigCodec.EnumCodec<?>) codec).getConstants();
                     for (Enum<?> _enum : enums) {
                         setCommand.then(LiteralArgumentBuilder.<S>literal(_enum.toString()).executes(c -> {
                             int index = IntegerArgumentType.getInteger(c, "index");
                             arrayConfigItem.setValue((T) _enum, index);
-                            config.saveConfigToFile();
+                            config.requestSave();
                             return 1;
                         }));
                     }
                     break;
 
+                case CUSTOM:
+                    setCommand = RequiredArgumentBuilder.<S, String>argument("value", StringArgumentType.greedyString()).executes(c -> {
+                        T result = parse(codec, StringArgumentType.getString(c, "value"));
+                        int index = IntegerArgumentType.getInteger(c, "index");
+                        arrayConfigItem.setValue(result, index);
+                        config.requestSave();
+                        return 1;
+                    });
+                    break;
+
                 default:
-                    throw new IllegalStateException("Class " + arrayConfigItem.getDefaultValue()[0].getClass().getSimpleName() + " is an unsupported type");
+                    throw new IllegalStateException("Unknown kind " + codec.getKind());
             }
             return RequiredArgumentBuilder.<S, Integer>argument("index", IntegerArgumentType.integer(0, arrayConfigItem.getValue().length)).then(setCommand);
         }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void setFromString(ConfigItem<T[]> configItem, StringReader reader) throws CommandSyntaxException {
+            ArrayConfigItem<T> arrayConfigItem = (ArrayConfigItem<T>) configItem;
+            ConfigCodec<T> codec = arrayConfigItem.getCodec();
+            if (codec == null) {
+                CommandBuilder.super.setFromString(configItem, reader);
+                return;
+            }
+
+            int index = readIndex(reader, arrayConfigItem.getValue().length);
+            arrayConfigItem.setValue(parse(codec, StringArgumentType.greedyString().parse(reader)), index);
+        }
+    }
+
+    private static class SetCommandBuilder<T> implements CommandBuilder<Set<T>> {
+        @SuppressWarnings("unchecked")
+        @Override
+        public <S extends CommandSource> ArgumentBuilder<S, ?> getCommand(ConfigItem<Set<T>> configItem, ConfigItemGroup group, Config config) {
+            SetConfigItem<T> setConfigItem = (SetConfigItem<T>) configItem;
+            return LiteralArgumentBuilder.<S>literal("add").then(valueArgument(setConfigItem, false, value -> {
+                if (setConfigItem.add(value)) {
+                    config.requestSave();
+                }
+            }));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <S extends CommandSource> void addCommands(LiteralArgumentBuilder<S> itemCommand, ConfigItem<Set<T>> configItem, ConfigItemGroup group, Config config) {
+            SetConfigItem<T> setConfigItem = (SetConfigItem<T>) configItem;
+            itemCommand.then(getCommand(configItem, group, config));
+            itemCommand.then(LiteralArgumentBuilder.<S>literal("remove").then(valueArgument(setConfigItem, true, value -> {
+                if (setConfigItem.remove(value)) {
+                    config.requestSave();
+                }
+            })));
+            itemCommand.then(LiteralArgumentBuilder.<S>literal("list").executes(itemCommand.getCommand()));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void setFromString(ConfigItem<Set<T>> configItem, StringReader reader) throws CommandSyntaxException {
+            SetConfigItem<T> setConfigItem = (SetConfigItem<T>) configItem;
+            int start = reader.getCursor();
+            String action = reader.readUnquotedString();
+            if (!action.equals("add") && !action.equals("remove")) {
+                reader.setCursor(start);
+                throw new SimpleCommandExceptionType(new LiteralMessage("Expected add or remove")).createWithContext(reader);
+            }
+
+            reader.expect(' ');
+            T value = parse(setConfigItem.getCodec(), StringArgumentType.greedyString().parse(reader));
+            if (action.equals("add")) {
+                setConfigItem.add(value);
+            } else {
+                setConfigItem.remove(value);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public CompletableFuture<Suggestions> suggestValues(ConfigItem<Set<T>> configItem, SuggestionsBuilder builder) {
+            SetConfigItem<T> setConfigItem = (SetConfigItem<T>) configItem;
+            String typed = builder.getRemaining();
+            int space = typed.indexOf(' ');
+            if (space < 0) {
+                return CommandSource.suggestMatching(new String[]{"add", "remove"}, builder);
+            }
+
+            SuggestionsBuilder valueBuilder = builder.createOffset(builder.getStart() + space + 1);
+            ConfigCodec<T> codec = setConfigItem.getCodec();
+            if (typed.startsWith("remove ")) {
+                return CommandSource.suggestMatching(setConfigItem.getValue().stream().map(codec::toDisplayString), valueBuilder);
+            } else if (setConfigItem instanceof RegistryConfigItem) {
+                return CommandSource.suggestIdentifiers(((RegistryConfigItem<?>) setConfigItem).getRegistry().getIds(), valueBuilder);
+            } else if (codec.getKind() == ConfigCodec.Kind.ENUM) {
+                return CommandSource.suggestMatching(Arrays.stream(((ConfigCodec.EnumCodec<?>) codec).getConstants()).map(Object::toString), valueBuilder);
+            }
+            return valueBuilder.buildFuture();
+        }
+
+        /**
+         * Creates the argument for a value of the set
+         *
+         * @param setConfigItem The config item
+         * @param suggestValues True to suggest the values already in the set
+         * @param action        The action to run with the value
+         * @param <S>           The command source type
+         * @return The argument
+         */
+        private <S extends CommandSource> ArgumentBuilder<S, ?> valueArgument(SetConfigItem<T> setConfigItem, boolean suggestValues, Consumer<T> action) {
+            ConfigCodec<T> codec = setConfigItem.getCodec();
+            ArgumentType<?> type;
+            switch (codec.getKind()) {
+                case BOOLEAN:
+                    type = BoolArgumentType.bool();
+                    break;
+                case INTEGER:
+                    type = IntegerArgumentType.integer();
+                    break;
+                case DOUBLE:
+                    type = DoubleArgumentType.doubleArg();
+                    break;
+                case STRING:
+                case ENUM:
+                case CUSTOM:
+                    type = StringArgumentType.greedyString();
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown kind " + codec.getKind());
+            }
+
+            RequiredArgumentBuilder<S, ?> argument = RequiredArgumentBuilder.argument("value", type);
+            if (suggestValues) {
+                argument.suggests((c, builder) -> CommandSource.suggestMatching(setConfigItem.getValue().stream().map(codec::toDisplayString), builder));
+            } else if (setConfigItem instanceof RegistryConfigItem) {
+                argument.suggests((c, builder) -> CommandSource.suggestIdentifiers(((RegistryConfigItem<?>) setConfigItem).getRegistry().getIds(), builder));
+            } else if (codec.getKind() == ConfigCodec.Kind.ENUM) {
+                argument.suggests((c, builder) -> CommandSource.suggestMatching(Arrays.stream(((ConfigCodec.EnumCodec<?>) codec).getConstants()).map(Object::toString), builder));
+            }
+
+            return argument.executes(c -> {
+                action.accept(parse(codec, c.getArgument("value", Object.class).toString()));
+                return 1;
+            });
+        }
     }
 
-    private static class EnumCommandBuilder<T extends Enum<?>> implements CommandBuilder<T> {
+    private static class CodecCommandBuilder<T> implements CommandBuilder<T> {
         @SuppressWarnings("unchecked")
+        @Override
+        public <S extends CommandSource> ArgumentBuilder<S, ?> getCommand(ConfigItem<T> configItem, ConfigItemGroup group, Config config) {
+            ConfigCodec<T> codec = ((CodecConfigItem<T>) configItem).getCodec();
+            return RequiredArgumentBuilder.<S, String>argument("value", StringArgumentType.greedyString()).executes(c -> {
+                configItem.setValue(parse(codec, StringArgumentType.getString(c, "value")));
+                config.requestSave();
+                return 1;
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void setFromString(ConfigItem<T> configItem, StringReader reader) throws CommandSyntaxException {
+            configItem.setValue(parse(((CodecConfigItem<T>) configItem).getCodec(), StringArgumentType.greedyString().parse(reader)));
+        }
+    }
+
+    /**
+     * Parses the text typed by a player with the codec
+     *
+     * @param codec The codec
+     * @param text  The text
+     * @param <T>   The type of the value
+     * @return The value
+     * @throws CommandSyntaxException If the text is not a valid value
+     */
+    private static <T> T parse(ConfigCodec<T> codec, String text) throws CommandSyntaxException {
+        try {
+            return codec.fromString(text);
+        } catch (IllegalArgumentException e) {
+            throw new SimpleCommandExceptionType(new LiteralMessage(e.getMessage())).create();
+        }
+    }
+
+    /**
+     * Reads an array index and the space after it
+     *
+     * @param reader The reader
+     * @param length The length of the array
+     * @return The index
+     * @throws CommandSyntaxException If there is no index in the array
+     */
+    private static int readIndex(StringReader reader, int length) throws CommandSyntaxException {
+        int index = IntegerArgumentType.integer(0, length - 1).parse(reader);
+        reader.expect(' ');
+        return index;
+    }
+
+    private static class EnumCommandBuilder<T extends Enum<T>> implements CommandBuilder<T> {
         @Override
         public <S extends CommandSource> ArgumentBuilder<S, ?> getCommand(ConfigItem<T> configItem, ConfigItemGroup group, Config config) {
             LiteralArgumentBuilder<S> builder = LiteralArgumentBuilder.literal("set");
-            Enum<?>[] enums = ((Enum<?>) configItem.getValue()).getClass().getEnumConstants();
-            for (Enum<?> _enum : enums) {
+            for (T _enum : ((EnumConfigItem<T>) configItem).getCodec().getConstants()) {
                 builder.then(LiteralArgumentBuilder.<S>literal(_enum.toString()).executes(c -> {
-                    configItem.setValue((T) _enum);
-                    config.saveConfigToFile();
+                    configItem.setValue(_enum);
+                    config.requestSave();
                     return 1;
                 }));
             }
             return builder;
         }
+
+        @Override
+        public void setFromString(ConfigItem<T> configItem, StringReader reader) throws CommandSyntaxException {
+            int start = reader.getCursor();
+            String name = reader.readUnquotedString();
+            try {
+                configItem.setValue(((EnumConfigItem<T>) configItem).getCodec().fromString(name));
+            } catch (IllegalArgumentException e) {
+                reader.setCursor(start);
+                throw new SimpleCommandExceptionType(new LiteralMessage("Unknown value " + name)).createWithContext(reader);
+            }
+        }
+
+        @Override
+        public CompletableFuture<Suggestions> suggestValues(ConfigItem<T> configItem, SuggestionsBuilder builder) {
+            return CommandSource.suggestMatching(Arrays.stream(((EnumConfigItem<T>) configItem).getCodec().getConstants()).map(Object::toString), builder);
+        }
     }
 }
@@ -0,0 +1,264 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 OroArmor (Eli Orona)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.oroarmor.config.registry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import com.oroarmor.config.ConfigItem;
+import com.oroarmor.config.SetConfigItem;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.block.Block;
+import net.minecraft.entity.EntityType;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link RegistryConfigItem} is a {@link SetConfigItem} of ids for entries of
+ * a {@link Registry}, such as blocks, items or entity types. The ids are
+ * resolved against the registry when they are read and when they change, and
+ * the entries are kept in an identity set, so {@link #containsEntry(Object)}
+ * does not parse ids or hash strings. <br>
+ * Modded entries may not be registered yet when the config is read, so the
+ * ids are resolved again if the registry has grown since. Ids that do not
+ * resolve are reported once, the first time the entries are used, rather than
+ * when they are read.
+ *
+ * @param <T> The type of the registry entries
+ * @author Eli Orona
+ */
+public class RegistryConfigItem<T> extends SetConfigItem<String> {
+    /**
+     * The registry to resolve ids with
+     */
+    private final Registry<T> registry;
+
+    /**
+     * The entries for the current ids
+     */
+    private volatile Resolved<T> resolved;
+
+    /**
+     * The ids that have already been reported as unknown
+     */
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new config with the name, defaultValue, registry, and details
+     *
+     * @param name         The name for the config item
+     * @param defaultValue The default ids
+     * @param registry     The registry the ids are from
+     * @param details      A translatable string for readability in multiple
+     *                     languages
+     */
+    public RegistryConfigItem(String name, Collection<String> defaultValue, Registry<T> registry, String details) {
+        this(name, defaultValue, registry, details, null);
+    }
+
+    /**
+     * Creates a new config with the name, defaultValue, registry, details, and
+     * an onChange consumer
+     *
+     * @param name         The name for the config item
+     * @param defaultValue The default ids
+     * @param registry     The registry the ids are from
+     * @param details      A translatable string for readability in multiple
+     *                     languages
+     * @param onChange     A {@link Consumer} that is run every time the config item
+     *                     is modified
+     */
+    public RegistryConfigItem(String name, Collection<String> defaultValue, Registry<T> registry, String details, @Nullable Consumer<ConfigItem<Set<String>>> onChange) {
+        super(name, defaultValue, String.class, details, onChange);
+        this.registry = registry;
+    }
+
+    /**
+     * Creates a new config item for blocks
+     *
+     * @param name         The name for the config item
+     * @param defaultValue The default ids
+     * @param details      A translatable string
+     * @return The config item
+     */
+    public static RegistryConfigItem<Block> blocks(String name, Collection<String> defaultValue, String details) {
+        return new RegistryConfigItem<>(name, defaultValue, Registries.BLOCK, details);
+    }
+
+    /**
+     * Creates a new config item for items
+     *
+     * @param name         The name for the config item
+     * @param defaultValue The default ids
+     * @param details      A translatable string
+     * @return The config item
+     */
+    public static RegistryConfigItem<Item> items(String name, Collection<String> defaultValue, String details) {
+        return new RegistryConfigItem<>(name, defaultValue, Registries.ITEM, details);
+    }
+
+    /**
+     * Creates a new config item for entity types
+     *
+     * @param name         The name for the config item
+     * @param defaultValue The default ids
+     * @param details      A translatable string
+     * @return The config item
+     */
+    public static RegistryConfigItem<EntityType<?>> entityTypes(String name, Collection<String> defaultValue, String details) {
+        return new RegistryConfigItem<>(name, defaultValue, Registries.ENTITY_TYPE, details);
+    }
+
+    @Override
+    public void fromJson(JsonElement element) {
+        super.fromJson(element);
+        this.resolved = resolve(getValue());
+    }
+
+    @Override
+    public Runnable readJson(JsonReader reader) throws IOException {
+        Runnable apply = super.readJson(reader);
+        return () -> {
+            apply.run();
+            this.resolved = resolve(getValue());
+        };
+    }
+
+    /**
+     * Resolves the changed ids before running the onChange consumer, so that
+     * the consumer sees the new entries
+     */
+    @Override
+    protected void runOnChange() {
+        this.resolved = resolve(getValue());
+        super.runOnChange();
+    }
+
+    /**
+     * @return The registry the ids are from
+     */
+    public Registry<T> getRegistry() {
+        return registry;
+    }
+
+    /**
+     * @param entry The registry entry
+     * @return True if the id of the entry is in the set
+     */
+    public boolean containsEntry(T entry) {
+        return getResolved().entries.contains(entry);
+    }
+
+    /**
+     * @return The entries for every id that resolves
+     */
+    public Set<T> getEntries() {
+        return getResolved().view;
+    }
+
+    /**
+     * Gets the entries for the current ids, resolving them again if they were
+     * not resolved with the current ids or the current registry
+     */
+    private Resolved<T> getResolved() {
+        Set<String> ids = getValue();
+        Resolved<T> current = this.resolved;
+        if (current == null || current.ids != ids || current.registrySize != registry.size()) {
+            current = resolve(ids);
+            this.resolved = current;
+        }
+        if (!current.reported) {
+            current.reported = true;
+            for (String id : current.unknown) {
+                if (reported.add(id)) {
+                    System.err.printf("Unknown id %s for %s in %s\n", id, registry.getKey().getValue(), getName());
+                }
+            }
+        }
+        return current;
+    }
+
+    private Resolved<T> resolve(Set<String> ids) {
+        int registrySize = registry.size();
+        Set<T> entries = new ReferenceOpenHashSet<>(ids.size());
+        List<String> unknown = new ArrayList<>();
+        for (String id : ids) {
+            Identifier identifier = Identifier.tryParse(id);
+            T entry = identifier != null ? registry.getOrEmpty(identifier).orElse(null) : null;
+            if (entry != null) {
+                entries.add(entry);
+            } else {
+                unknown.add(id);
+            }
+        }
+        return new Resolved<>(ids, registrySize, entries, unknown);
+    }
+
+    /**
+     * The entries resolved from one set of ids
+     */
+    private static final class Resolved<T> {
+        /**
+         * The ids the entries were resolved from
+         */
+        private final Set<String> ids;
+
+        /**
+         * The size of the registry when the ids were resolved
+         */
+        private final int registrySize;
+        private final Set<T> entries;
+        private final Set<T> view;
+
+        /**
+         * The ids that did not resolve
+         */
+        private final List<String> unknown;
+
+        /**
+         * True once the unknown ids have been reported
+         */
+        private volatile boolean reported;
+
+        private Resolved(Set<String> ids, int registrySize, Set<T> entries, List<String> unknown) {
+            this.ids = ids;
+            this.registrySize = registrySize;
+            this.entries = entries;
+            this.view = Collections.unmodifiableSet(entries);
+            this.unknown = unknown;
+        }
+    }
+}
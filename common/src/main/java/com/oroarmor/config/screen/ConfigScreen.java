@@ -93,7 +93,7 @@ public abstract class ConfigScreen {
     @SuppressWarnings("rawtypes")
     public Screen createScreen(Screen parent) {
         ConfigBuilder builder = ConfigBuilder.create().setParentScreen(parent).setTitle(Text.translatable("config." + config.getID()));
-        builder.setSavingRunnable(config::saveConfigToFile);
+        builder.setSavingRunnable(config::requestSave);
 
         ConfigEntryBuilder entryBuilder = ConfigEntryBuilder.create();
 
@@ -25,9 +25,15 @@
 package com.oroarmor.config.screen;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import com.oroarmor.config.*;
 import me.shedaniel.clothconfig2.api.AbstractConfigListEntry;
@@ -39,21 +45,63 @@ import org.jetbrains.annotations.NotNull;
  * Storage and registration for the config entries to set config items
  */
 public class ConfigScreenBuilders {
-    private static final Map<Class<? extends ConfigItem<?>>, EntryBuilder<?>> COMMANDS = new HashMap<>();
+    private static final Map<Class<?>, EntryBuilder<?>> COMMANDS = new ConcurrentHashMap<>();
+
+    /**
+     * The builder found for each config item class, including subclasses of
+     * registered classes. Replaced whenever a builder is registered.
+     */
+    private static volatile ClassValue<EntryBuilder<?>> lookup = newLookup();
+
+    /**
+     * Used for config items without a builder
+     */
+    private static final EntryBuilder<?> UNKNOWN = (configItem, entryBuilder, config) -> {
+        throw new IllegalArgumentException("Unknown Config Type");
+    };
 
     static {
-        register(BooleanConfigItem.class, (EntryBuilder<Boolean>) (configItem, entryBuilder, config) -> entryBuilder.startBooleanToggle(Text.translatable(configItem.getDetails()), configItem.getValue()).setSaveConsumer(configItem::setValue).setDefaultValue(configItem::getDefaultValue).build());
+        register(BooleanConfigItem.class, (EntryBuilder<Boolean>) (configItem, entryBuilder, config) -> entryBuilder.startBooleanToggle(Text.translatable(configItem.getDetails()), ((BooleanConfigItem) configItem).getBoolean()).setSaveConsumer(configItem::setValue).setDefaultValue(configItem::getDefaultValue).build());
         register(DoubleConfigItem.class, (EntryBuilder<Double>) (configItem, entryBuilder, config) -> {
             DoubleConfigItem doubleConfigItem = (DoubleConfigItem) configItem;
-            return entryBuilder.startDoubleField(Text.translatable(doubleConfigItem.getDetails()), doubleConfigItem.getValue()).setSaveConsumer(doubleConfigItem::setValue).setDefaultValue(doubleConfigItem::getDefaultValue).setMin(doubleConfigItem.getMin()).setMax(doubleConfigItem.getMax()).build();
+            return entryBuilder.startDoubleField(Text.translatable(doubleConfigItem.getDetails()), doubleConfigItem.getDouble()).setSaveConsumer(doubleConfigItem::setValue).setDefaultValue(doubleConfigItem::getDefaultValue).setMin(doubleConfigItem.getMin()).setMax(doubleConfigItem.getMax()).build();
         });
         register(IntegerConfigItem.class, (EntryBuilder<Integer>) (configItem, entryBuilder, config) -> {
             IntegerConfigItem integerConfigItem = (IntegerConfigItem) configItem;
-            return entryBuilder.startIntField(Text.translatable(integerConfigItem.getDetails()), integerConfigItem.getValue()).setSaveConsumer(integerConfigItem::setValue).setDefaultValue(integerConfigItem::getDefaultValue).setMin(integerConfigItem.getMin()).setMax(integerConfigItem.getMax()).build();
+            return entryBuilder.startIntField(Text.translatable(integerConfigItem.getDetails()), integerConfigItem.getInt()).setSaveConsumer(integerConfigItem::setValue).setDefaultValue(integerConfigItem::getDefaultValue).setMin(integerConfigItem.getMin()).setMax(integerConfigItem.getMax()).build();
         });
         register(StringConfigItem.class, (EntryBuilder<String>) (configItem, entryBuilder, config) -> entryBuilder.startStrField(Text.translatable(configItem.getDetails()), configItem.getValue()).setSaveConsumer(configItem::setValue).setDefaultValue(configItem::getDefaultValue).build());
         register(EnumConfigItem.class, new EnumEntryBuilder<>());
         register(ArrayConfigItem.class, new ArrayEntryBuilder<>());
+        register(SetConfigItem.class, new SetEntryBuilder<>());
+        register(CodecConfigItem.class, new CodecEntryBuilder<>());
+        register(IntArrayConfigItem.class, (EntryBuilder<int[]>) (configItem, entryBuilder, config) -> {
+            IntArrayConfigItem arrayConfigItem = (IntArrayConfigItem) configItem;
+            List<AbstractConfigListEntry> entries = new ArrayList<>();
+            for (int i = 0; i < arrayConfigItem.length(); i++) {
+                int finalI = i;
+                entries.add(entryBuilder.startIntField(Text.translatable(arrayConfigItem.getDetails()).append(": " + i), arrayConfigItem.getInt(i)).setSaveConsumer(val -> arrayConfigItem.setInt(finalI, val)).setDefaultValue(() -> arrayConfigItem.getDefaultInt(finalI)).setMin(arrayConfigItem.getMin()).setMax(arrayConfigItem.getMax()).build());
+            }
+            return entryBuilder.startSubCategory(Text.translatable(arrayConfigItem.getDetails()), entries).build();
+        });
+        register(DoubleArrayConfigItem.class, (EntryBuilder<double[]>) (configItem, entryBuilder, config) -> {
+            DoubleArrayConfigItem arrayConfigItem = (DoubleArrayConfigItem) configItem;
+            List<AbstractConfigListEntry> entries = new ArrayList<>();
+            for (int i = 0; i < arrayConfigItem.length(); i++) {
+                int finalI = i;
+                entries.add(entryBuilder.startDoubleField(Text.translatable(arrayConfigItem.getDetails()).append(": " + i), arrayConfigItem.getDouble(i)).setSaveConsumer(val -> arrayConfigItem.setDouble(finalI, val)).setDefaultValue(() -> arrayConfigItem.getDefaultDouble(finalI)).setMin(arrayConfigItem.getMin()).setMax(arrayConfigItem.getMax()).build());
+            }
+            return entryBuilder.startSubCategory(Text.translatable(arrayConfigItem.getDetails()), entries).build();
+        });
+        register(BooleanArrayConfigItem.class, (EntryBuilder<BitSet>) (configItem, entryBuilder, config) -> {
+            BooleanArrayConfigItem arrayConfigItem = (BooleanArrayConfigItem) configItem;
+            List<AbstractConfigListEntry> entries = new ArrayList<>();
+            for (int i = 0; i < arrayConfigItem.length(); i++) {
+                int finalI = i;
+                entries.add(entryBuilder.startBooleanToggle(Text.translatable(arrayConfigItem.getDetails()).append(": " + i), arrayConfigItem.getBoolean(i)).setSaveConsumer(val -> arrayConfigItem.setBoolean(finalI, val)).setDefaultValue(() -> arrayConfigItem.getDefaultBoolean(finalI)).build());
+            }
+            return entryBuilder.startSubCategory(Text.translatable(arrayConfigItem.getDetails()), entries).build();
+        });
     }
 
     /**
@@ -69,10 +117,44 @@ public class ConfigScreenBuilders {
         }
 
         COMMANDS.put(configItemClass, builder);
+        lookup = newLookup();
+    }
+
+    private static ClassValue<EntryBuilder<?>> newLookup() {
+        return new ClassValue<EntryBuilder<?>>() {
+            @Override
+            protected EntryBuilder<?> computeValue(Class<?> type) {
+                for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                    EntryBuilder<?> builder = COMMANDS.get(current);
+                    if (builder != null) {
+                        return builder;
+                    }
+                }
+                return UNKNOWN;
+            }
+        };
     }
 
     /**
-     * Gets the entry builder for the config item
+     * Creates an error supplier that checks text can be parsed by the codec
+     *
+     * @param codec The codec
+     * @return The error supplier
+     */
+    private static Function<String, Optional<Text>> parseError(ConfigCodec<?> codec) {
+        return value -> {
+            try {
+                codec.fromString(value);
+                return Optional.empty();
+            } catch (IllegalArgumentException e) {
+                return Optional.of(Text.literal(e.getMessage()));
+            }
+        };
+    }
+
+    /**
+     * Gets the entry builder for the config item, or the builder of its
+     * closest registered superclass
      *
      * @param configItem The config item
      * @param <T>        The storage type for the config item
@@ -81,9 +163,7 @@ public class ConfigScreenBuilders {
      */
     @SuppressWarnings("unchecked")
     public static <T, C extends ConfigItem<T>> EntryBuilder<T> getEntryBuilder(C configItem) {
-        return (EntryBuilder<T>) COMMANDS.getOrDefault(configItem.getClass(), (EntryBuilder<T>) (configItem1, entryBuilder, config) -> {
-            throw new IllegalArgumentException("Unknown Config Type");
-        });
+        return (EntryBuilder<T>) lookup.get(configItem.getClass());
     }
 
     /**
@@ -108,8 +188,13 @@ public class ConfigScreenBuilders {
         @Override
         public AbstractConfigListEntry<?> getConfigEntry(ConfigItem<T[]> configItem, ConfigEntryBuilder entryBuilder, Config config) {
             ArrayConfigItem<T> arrayConfigItem = (ArrayConfigItem<T>) configItem;
-            switch (arrayConfigItem.getDefaultValue()[0].getClass().isEnum() ? "ENUM" : arrayConfigItem.getDefaultValue()[0].getClass().getSimpleName().toUpperCase()) {
-                case "BOOLEAN":
+            ConfigCodec<T> codec = arrayConfigItem.getCodec();
+            if (codec == null) {
+                throw new IllegalStateException("Class " + arrayConfigItem.getDefaultValue()[0].getClass().getSimpleName() + " is an unsupported type");
+            }
+
+            switch (codec.getKind()) {
+                case BOOLEAN:
                     List<AbstractConfigListEntry> bconfigs = new ArrayList<>();
                     for (int i = 0; i < arrayConfigItem.getValue().length; i++) {
                         int finalI = i;
@@ -118,7 +203,7 @@ public class ConfigScreenBuilders {
                     }
                     return entryBuilder.startSubCategory(Text.translatable(configItem.getDetails()), bconfigs).build();
 
-                case "INTEGER":
+                case INTEGER:
                     List<AbstractConfigListEntry> iconfigs = new ArrayList<>();
                     for (int i = 0; i < arrayConfigItem.getValue().length; i++) {
                         int finalI = i;
@@ -126,7 +211,7 @@ public class ConfigScreenBuilders {
                         iconfigs.add(entry);
                     }
                     return entryBuilder.startSubCategory(Text.translatable(configItem.getDetails()), iconfigs).build();
-                case "DOUBLE":
+                case DOUBLE:
                     List<AbstractConfigListEntry> dconfigs = new ArrayList<>();
                     for (int i = 0; i < arrayConfigItem.getValue().length; i++) {
                         int finalI = i;
@@ -135,7 +220,7 @@ public class ConfigScreenBuilders {
                     }
                     return entryBuilder.startSubCategory(Text.translatable(configItem.getDetails()), dconfigs).build();
 
-                case "STRING":
+                case STRING:
                     List<AbstractConfigListEntry> sconfigs = new ArrayList<>();
                     for (int i = 0; i < arrayConfigItem.getValue().length; i++) {
                         int finalI = i;
@@ -144,11 +229,20 @@ public class ConfigScreenBuilders {
                     }
                     return entryBuilder.startSubCategory(Text.translatable(arrayConfigItem.getDetails()), sconfigs).build();
 
-                case "ENUM":
+                case ENUM:
                     return getEnumArrayEntry(entryBuilder, (ArrayConfigItem) arrayConfigItem);
 
+                case CUSTOM:
+                    List<AbstractConfigListEntry> cconfigs = new ArrayList<>();
+                    for (int i = 0; i < arrayConfigItem.getValue().length; i++) {
+                        int finalI = i;
+                        AbstractConfigListEntry<?> entry = entryBuilder.startStrField(Text.translatable(arrayConfigItem.getDetails()).append(": " + i), codec.toDisplayString(arrayConfigItem.getValue(i))).setErrorSupplier(parseError(codec)).setSaveConsumer(val -> arrayConfigItem.setValue(codec.fromString(val), finalI)).setDefaultValue(() -> codec.toDisplayString(arrayConfigItem.getDefaultValue(finalI))).build();
+                        cconfigs.add(entry);
+                    }
+                    return entryBuilder.startSubCategory(Text.translatable(arrayConfigItem.getDetails()), cconfigs).build();
+
                 default:
-                    throw new IllegalStateException("Class " + arrayConfigItem.getDefaultValue()[0].getClass().getSimpleName() + " is an unsupported type");
+                    throw new IllegalStateException("Unknown kind " + codec.getKind());
             }
         }
 
@@ -157,7 +251,7 @@ public class ConfigScreenBuilders {
             List<AbstractConfigListEntry> configs = new ArrayList<>();
             for (int i = 0; i < arrayConfigItem.getValue().length; i++) {
                 int finalI = i;
-                AbstractConfigListEntry<?> entry = entryBuilder.startEnumSelector(Text.translatable(arrayConfigItem.getDetails()).append(": " + i), (Class<S>) ((Enum<?>) arrayConfigItem.getValue(i)).getClass().getEnumConstants()[0].getClass(), arrayConfigItem.getValue(i))
+                AbstractConfigListEntry<?> entry = entryBuilder.startEnumSelector(Text.translatable(arrayConfigItem.getDetails()).append(": " + i), arrayConfigItem.getCodec().getType(), arrayConfigItem.getValue(i))
                         .setSaveConsumer(val -> arrayConfigItem.setValue((S) val, finalI))
                         .setDefaultValue(() -> (S) arrayConfigItem.getDefaultValue(finalI)).build();
                 configs.add(entry);
@@ -167,11 +261,42 @@ public class ConfigScreenBuilders {
         }
     }
 
+    private static class SetEntryBuilder<T> implements EntryBuilder<Set<T>> {
+        @SuppressWarnings("unchecked")
+        @Override
+        public AbstractConfigListEntry<?> getConfigEntry(ConfigItem<Set<T>> configItem, ConfigEntryBuilder entryBuilder, Config config) {
+            SetConfigItem<T> setConfigItem = (SetConfigItem<T>) configItem;
+            ConfigCodec<T> codec = setConfigItem.getCodec();
+            return entryBuilder.startStrList(Text.translatable(setConfigItem.getDetails()), toStrings(codec, setConfigItem.getValue()))
+                    .setCellErrorSupplier(parseError(codec))
+                    .setSaveConsumer(values -> setConfigItem.setValue(values.stream().map(codec::fromString).collect(Collectors.toCollection(LinkedHashSet::new))))
+                    .setDefaultValue(() -> toStrings(codec, setConfigItem.getDefaultValue()))
+                    .build();
+        }
+
+        private List<String> toStrings(ConfigCodec<T> codec, Set<T> values) {
+            return values.stream().map(codec::toDisplayString).collect(Collectors.toList());
+        }
+    }
+
+    private static class CodecEntryBuilder<T> implements EntryBuilder<T> {
+        @SuppressWarnings("unchecked")
+        @Override
+        public AbstractConfigListEntry<?> getConfigEntry(ConfigItem<T> configItem, ConfigEntryBuilder entryBuilder, Config config) {
+            ConfigCodec<T> codec = ((CodecConfigItem<T>) configItem).getCodec();
+            return entryBuilder.startStrField(Text.translatable(configItem.getDetails()), codec.toDisplayString(configItem.getValue()))
+                    .setErrorSupplier(parseError(codec))
+                    .setSaveConsumer(value -> configItem.setValue(codec.fromString(value)))
+                    .setDefaultValue(() -> codec.toDisplayString(configItem.getDefaultValue()))
+                    .build();
+        }
+    }
+
     private static class EnumEntryBuilder<T extends Enum<?>> implements EntryBuilder<T> {
         @SuppressWarnings("unchecked")
         @Override
         public AbstractConfigListEntry<?> getConfigEntry(ConfigItem<T> configItem, ConfigEntryBuilder entryBuilder, Config config) {
-            return entryBuilder.startEnumSelector(Text.translatable(configItem.getDetails()), (Class<T>) ((Enum<?>) configItem.getValue()).getClass().getEnumConstants()[0].getClass(), configItem.getValue())
+            return entryBuilder.startEnumSelector(Text.translatable(configItem.getDetails()), (Class<T>) configItem.getValue().getDeclaringClass(), configItem.getValue())
                     .setSaveConsumer(configItem::setValue)
                     .setDefaultValue(configItem::getValue).build();
         }
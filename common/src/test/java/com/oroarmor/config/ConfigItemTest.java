@@ -24,10 +24,24 @@
 
 package com.oroarmor.config;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class ConfigItemTest {
     @Test
@@ -60,4 +74,261 @@ public class ConfigItemTest {
         test.fromJson(new JsonPrimitive(10));
         assertEquals("Correct value from json", (Integer) 10, test.getValue());
     }
+
+    @Test
+    public void primitiveAccessors() {
+        IntegerConfigItem integerItem = new IntegerConfigItem("int", 5, "details", null, 0, 10);
+        integerItem.setInt(20);
+        assertEquals("Int is clamped to max", 10, integerItem.getInt());
+        assertEquals("Boxed value matches", (Integer) 10, integerItem.getValue());
+        integerItem.setValue(-5);
+        assertEquals("Boxed setter is clamped to min", 0, integerItem.getInt());
+
+        DoubleConfigItem doubleItem = new DoubleConfigItem("double", 0.5, "details", null, 0, 1);
+        doubleItem.setDouble(2.5);
+        assertEquals("Double is clamped to max", 1.0, doubleItem.getDouble(), 0);
+        assertEquals("Boxed value matches", (Double) 1.0, doubleItem.getValue());
+
+        BooleanConfigItem booleanItem = new BooleanConfigItem("boolean", true, "details");
+        booleanItem.setBoolean(false);
+        assertFalse("Boolean is set", booleanItem.getBoolean());
+        assertEquals("Boxed value matches", Boolean.FALSE, booleanItem.getValue());
+        assertFalse("Not at default", booleanItem.atDefaultValue());
+    }
+
+    @Test
+    public void primitiveItemsKeepTheValueField() {
+        IntegerConfigItem integerItem = new IntegerConfigItem("int", 5, "details", null, 0, 10);
+        integerItem.setInt(20);
+        assertEquals("Subclasses read the clamped value", (Integer) 10, integerItem.value);
+        integerItem.value = 3;
+        assertEquals("Direct writes are read back", 3, integerItem.getInt());
+
+        DoubleConfigItem doubleItem = new DoubleConfigItem("double", 0.5, "details");
+        doubleItem.setDouble(0.25);
+        assertEquals("Subclasses read the value", (Double) 0.25, doubleItem.value);
+
+        BooleanConfigItem booleanItem = new BooleanConfigItem("boolean", true, "details");
+        booleanItem.setBoolean(false);
+        assertEquals("Subclasses read the value", Boolean.FALSE, booleanItem.value);
+    }
+
+    @Test
+    public void arrayReadsAreNeverPartial() throws InterruptedException {
+        int length = 64;
+        ArrayConfigItem<Integer> item = new ArrayConfigItem<>("array", filled(length, 0), "details");
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread writer = new Thread(() -> {
+            for (int i = 1; running.get(); i++) {
+                if (i % 2 == 0) {
+                    item.setValue(filled(length, i));
+                } else {
+                    JsonArray array = new JsonArray();
+                    for (int j = 0; j < length; j++) {
+                        array.add(i);
+                    }
+                    item.fromJson(array);
+                }
+            }
+        });
+
+        Thread[] readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                while (running.get()) {
+                    Integer[] values = item.getValue();
+                    for (Integer value : values) {
+                        if (!value.equals(values[0])) {
+                            failure.set("Read a partly written array");
+                            return;
+                        }
+                    }
+                }
+            });
+        }
+
+        writer.start();
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        Thread.sleep(250);
+        running.set(false);
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull("Readers only see whole arrays", failure.get());
+    }
+
+    @Test
+    public void concurrentGetsNeverUndoSets() throws InterruptedException {
+        IntegerConfigItem item = new IntegerConfigItem("int", 0, "details");
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread writer = new Thread(() -> {
+            for (int i = 1; running.get(); i++) {
+                item.setInt(i);
+                if (item.getInt() != i) {
+                    failure.set("Set to " + i + " but read " + item.getInt());
+                    return;
+                }
+            }
+        });
+
+        Thread[] readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                while (running.get()) {
+                    item.getValue();
+                }
+            });
+        }
+
+        writer.start();
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        Thread.sleep(250);
+        running.set(false);
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull("Reads never undo a set", failure.get());
+    }
+
+    @Test
+    public void arrayCodecRoundTrip() {
+        ArrayConfigItem<EnumTest> array = new ArrayConfigItem<>("enums", new EnumTest[]{EnumTest.A, EnumTest.B}, "enums");
+        assertEquals("Codec is found for enums", ConfigCodec.Kind.ENUM, array.getCodec().getKind());
+
+        JsonArray json = new JsonArray();
+        json.add("C");
+        json.add("A");
+        json.add("B");
+        array.fromJson(json);
+        assertEquals("Extra elements are ignored", EnumTest.C, array.getValue(0));
+        assertEquals("Elements are read by name", EnumTest.A, array.getValue(1));
+        assertNull("Unsupported types have no codec", new ArrayConfigItem<>("objects", new Object[]{new Object()}, "objects").getCodec());
+    }
+
+    @Test
+    public void primitiveArrays() {
+        IntArrayConfigItem ints = new IntArrayConfigItem("ints", new int[]{1, 2, 3}, "ints", null, 0, 10);
+        ints.setInt(0, 20);
+        ints.setInts(1, -5, 7);
+        assertEquals("Values are clamped", "10,0,7", ints.getCommandValue());
+
+        JsonObject object = new JsonObject();
+        ints.toJson(object);
+        IntArrayConfigItem read = new IntArrayConfigItem("ints", new int[3], "ints");
+        read.fromJson(object.get("ints"));
+        assertEquals("Values round trip", 7, read.getInt(2));
+
+        DoubleArrayConfigItem doubles = new DoubleArrayConfigItem("doubles", new double[]{0.5, 1.5}, "doubles", null, 0, 1);
+        doubles.setDoubles(0, 2, -1);
+        double[] copy = new double[1];
+        doubles.copyTo(copy, 1);
+        assertEquals("Copies from the offset", 0, copy[0], 0);
+
+        BooleanArrayConfigItem booleans = new BooleanArrayConfigItem("booleans", new boolean[]{true, false}, "booleans");
+        booleans.setBoolean(1, true);
+        assertFalse("Default value is kept", booleans.getDefaultBoolean(1));
+        assertEquals("Bits are set", "true,true", booleans.getCommandValue());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void setIntsChecksTheStart() {
+        new IntArrayConfigItem("ints", new int[]{1, 2, 3}, "ints").setInts(-1, 5, 6);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void copyToChecksTheOffset() {
+        new DoubleArrayConfigItem("doubles", new double[]{1, 2}, "doubles").copyTo(new double[2], 2);
+    }
+
+    @Test
+    public void setMembership() {
+        SetConfigItem<String> set = new SetConfigItem<>("blocked", List.of("minecraft:pig"), String.class, "blocked");
+        assertTrue("Default value is in the set", set.contains("minecraft:pig"));
+        assertTrue("New value is added", set.add("minecraft:cow"));
+        assertFalse("Duplicate value is not added", set.add("minecraft:cow"));
+        assertTrue("Value is removed", set.remove("minecraft:pig"));
+
+        JsonObject object = new JsonObject();
+        set.toJson(object);
+        assertEquals("Set is saved as an array", "[\"minecraft:cow\"]", object.get("blocked").toString());
+
+        JsonArray json = new JsonArray();
+        json.add("minecraft:sheep");
+        set.fromJson(json);
+        assertEquals("Set is read from an array", Set.of("minecraft:sheep"), set.getValue());
+    }
+
+    @Test
+    public void customCodec() {
+        ConfigCodec.register(Point.class, new ConfigCodec<Point>(Point.class) {
+            @Override
+            public Point fromJson(JsonElement element) {
+                return fromString(element.getAsString());
+            }
+
+            @Override
+            public Point fromJson(JsonReader reader) throws IOException {
+                return fromString(reader.nextString());
+            }
+
+            @Override
+            public Point fromString(String value) {
+                String[] parts = value.split(",");
+                return new Point(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+            }
+
+            @Override
+            public JsonElement toJson(Point value) {
+                return new JsonPrimitive(toDisplayString(value));
+            }
+
+            @Override
+            public void toJson(JsonWriter writer, Point value) throws IOException {
+                writer.value(toDisplayString(value));
+            }
+
+            @Override
+            public String toDisplayString(Point value) {
+                return value.x + "," + value.y;
+            }
+        });
+
+        CodecConfigItem<Point> point = new CodecConfigItem<>("point", new Point(1, 2) {
+        }, "point");
+        assertEquals("Subclass uses the registered codec", ConfigCodec.Kind.CUSTOM, point.getCodec().getKind());
+
+        point.fromJson(new JsonPrimitive("3,4"));
+        assertEquals("Value is read with the codec", "3,4", point.getCommandValue());
+        assertEquals("Codec is used by arrays", point.getCodec(), new ArrayConfigItem<>("points", new Point[]{new Point(0, 0)}, "points").getCodec());
+    }
+
+    private static Integer[] filled(int length, int value) {
+        Integer[] array = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = value;
+        }
+        return array;
+    }
+
+    public static class Point {
+        final int x;
+        final int y;
+
+        Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
 }
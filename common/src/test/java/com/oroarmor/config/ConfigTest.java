@@ -24,9 +24,31 @@
 
 package com.oroarmor.config;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 public class ConfigTest {
     @Test
@@ -36,4 +58,479 @@ public class ConfigTest {
         assertEquals("Get value gets correct value", TestConfig.ConfigGroupLevel1.NestedGroup.nestedItem.getDefaultValue(), testConfig.getValue("group.nested.test_int", Integer.class));
         assertEquals("Get value gets correct enum value", TestConfig.ConfigGroupLevel1.testEnum.getDefaultValue(), testConfig.getValue("group.test_enum", EnumTest.class));
     }
+
+    @Test
+    public void getValueMissingPath() {
+        Config testConfig = new Fixture(null).config;
+        assertNull("Missing item is null", testConfig.getValue("group.missing", Boolean.class));
+        assertNull("Missing group is null", testConfig.getValue("missing.test_boolean", Boolean.class));
+        assertNull("Group path is null", testConfig.getValue("group.nested", Integer.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getValueWrongType() {
+        new Fixture(null).config.getValue("group.test_boolean", Integer.class);
+    }
+
+    @Test
+    public void getValueAfterGroupChange() {
+        List<ConfigItem<?>> items = new ArrayList<>();
+        ConfigItemGroup group = new ConfigItemGroup(items, "group");
+        Config config = new Config(List.of(group), null, "test");
+        assertNull("Item does not exist yet", config.getValue("group.added", Integer.class));
+
+        group.getConfigs().add(new IntegerConfigItem("added", 5, "added"));
+        assertEquals("Added item is found", (Integer) 5, config.getValue("group.added", Integer.class));
+
+        group.getConfigs().remove(0);
+        assertNull("Removed item is gone", config.getValue("group.added", Integer.class));
+    }
+
+    @Test
+    public void groupListIsOwned() {
+        List<ConfigItem<?>> items = new ArrayList<>();
+        IntegerConfigItem first = new IntegerConfigItem("first", 1, "first");
+        items.add(first);
+        ConfigItemGroup group = new ConfigItemGroup(items, "group");
+
+        items.add(new IntegerConfigItem("outside", 2, "outside"));
+        assertEquals("Changes to the given list are not seen", 1, group.getConfigs().size());
+
+        IntegerConfigItem second = new IntegerConfigItem("second", 2, "second");
+        group.getConfigs().set(0, second);
+        assertNull("Replaced item is unlinked", first.parent);
+        assertSame("New item is linked", group, second.parent);
+
+        group.getConfigs().remove(0);
+        assertNull("Removed item is unlinked", second.parent);
+    }
+
+    @Test
+    public void structureChangesStayInTheirConfig() {
+        ConfigItemGroup nested = new ConfigItemGroup(new ArrayList<>(), "nested");
+        Config config = new Config(List.of(new ConfigItemGroup(List.of(nested), "group")), null, "structure_test");
+        Config other = new Fixture(null).config;
+        int version = config.getStructureVersion();
+        int otherVersion = other.getStructureVersion();
+
+        nested.getConfigs().add(new IntegerConfigItem("added", 1, "added"));
+        assertTrue("Nested changes reach the config", config.getStructureVersion() > version);
+        assertEquals("Other configs are not affected", otherVersion, other.getStructureVersion());
+        assertEquals("Nested item is found", (Integer) 1, config.getValue("group.nested.added", Integer.class));
+    }
+
+    @Test
+    public void key() {
+        Fixture fixture = new Fixture(null);
+        ConfigKey<Integer> key = fixture.config.key("group.nested.test_int", Integer.class);
+        assertEquals("Key reads the current value", fixture.testInt.getValue(), key.get());
+
+        fixture.testInt.setValue(7);
+        assertEquals("Key sees changes", (Integer) 7, key.get());
+        assertEquals("Key reads a primitive", 7, key.getInt());
+        assertTrue("Key reads a boolean", fixture.config.key("group.test_boolean", Boolean.class).getBoolean());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void keyMissingPath() {
+        new Fixture(null).config.key("group.missing", Integer.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void keyWrongType() {
+        new Fixture(null).config.key("group.test_boolean", Integer.class);
+    }
+
+    @Test
+    public void asyncSaveWaitsForFlush() throws IOException {
+        File file = File.createTempFile("oro-config", ".json");
+        file.delete();
+        file.deleteOnExit();
+
+        Config testConfig = new Fixture(file).config;
+        testConfig.enableAsyncSaving(1, TimeUnit.HOURS);
+        testConfig.requestSave();
+        testConfig.requestSave();
+        assertFalse("Save is delayed", file.exists());
+
+        testConfig.flush();
+        assertTrue("Flush writes the save", file.exists());
+        testConfig.disableAsyncSaving();
+    }
+
+    @Test
+    public void readConfigFromFile() throws IOException {
+        File file = File.createTempFile("oro-config", ".json");
+        file.deleteOnExit();
+        Files.write(file.toPath(), ("{\"unknown\": {\"a\": [1, 2]}, \"group\": {\"test_boolean\": false, \"extra\": 1, \"test_enum\": \"C\", "
+                + "\"nested\": {\"test_int\": 4, \"triple\": {\"test_string\": \"Read\"}}, \"test_array\": [3, 2, 1]}}").getBytes(StandardCharsets.UTF_8));
+
+        Fixture fixture = new Fixture(file);
+        Config testConfig = fixture.config;
+        testConfig.readConfigFromFile();
+        assertEquals("Boolean is read", Boolean.FALSE, testConfig.getValue("group.test_boolean", Boolean.class));
+        assertEquals("Enum is read", EnumTest.C, testConfig.getValue("group.test_enum", EnumTest.class));
+        assertEquals("Nested integer is read", (Integer) 4, testConfig.getValue("group.nested.test_int", Integer.class));
+        assertEquals("Nested string is read", "Read", testConfig.getValue("group.nested.triple.test_string", String.class));
+        assertEquals("Array is read", (Integer) 3, fixture.testArray.getValue(0));
+    }
+
+    @Test
+    public void saveMatchesTreeOutput() throws IOException {
+        File file = File.createTempFile("oro-config", ".json");
+        file.deleteOnExit();
+
+        ConfigItemGroup group = new ConfigItemGroup(List.of(
+                new IntegerConfigItem("int", -4, "int"),
+                new DoubleConfigItem("double", 0.1, "double"),
+                new BooleanConfigItem("boolean", false, "boolean"),
+                new StringConfigItem("string", "<a href='x'>&\u00e9\"\n</a>", "string"),
+                new EnumConfigItem<>("enum", EnumTest.B, "enum"),
+                new ArrayConfigItem<>("array", new Double[]{1.0, 2.5}, "array"),
+                new ConfigItemGroup(List.of(), "empty")), "group");
+        Config config = new Config(List.of(group), file, "test");
+        config.saveConfigToFile();
+
+        JsonObject tree = new JsonObject();
+        group.toJson(tree);
+        String expected = new GsonBuilder().setPrettyPrinting().create().toJson(tree);
+        assertEquals("Streamed output matches the tree output", expected, new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void unchangedSaveAndReadAreSkipped() throws IOException {
+        File file = File.createTempFile("oro-config", ".json");
+        file.delete();
+        file.deleteOnExit();
+
+        IntegerConfigItem item = new IntegerConfigItem("int", 1, "int");
+        Config config = new Config(List.of(new ConfigItemGroup(List.of(item), "group")), file, "test");
+        config.saveConfigToFile();
+        config.saveConfigToFile();
+        assertEquals("First save is written", 1, config.getPerformedWrites());
+        assertEquals("Second save is skipped", 1, config.getSkippedWrites());
+
+        config.readConfigFromFile();
+        assertEquals("Read of unchanged file is skipped", 1, config.getSkippedReads());
+
+        item.setInt(2);
+        config.readConfigFromFile();
+        assertEquals("Read is done when the config has changed", 1, config.getPerformedReads());
+        assertEquals("Read restores the file value", 1, item.getInt());
+
+        item.setInt(3);
+        config.saveConfigToFile();
+        assertEquals("Changed save is written", 2, config.getPerformedWrites());
+    }
+
+    @Test
+    public void saveRecordsTheWrittenContents() throws IOException {
+        File file = File.createTempFile("oro-config", ".json");
+        file.delete();
+        file.deleteOnExit();
+
+        AtomicBoolean changeAfterHash = new AtomicBoolean();
+        StringConfigItem item = new StringConfigItem("string", "a", "string") {
+            @Override
+            public void toJson(JsonWriter writer) throws IOException {
+                super.toJson(writer);
+                // Acts like another thread setting the value while the config is being saved
+                if (changeAfterHash.getAndSet(false)) {
+                    setValue("b");
+                }
+            }
+        };
+        Config config = new Config(List.of(new ConfigItemGroup(List.of(item), "group")), file, "test");
+
+        changeAfterHash.set(true);
+        config.saveConfigToFile();
+        item.setValue("a");
+        config.saveConfigToFile();
+
+        assertEquals("The file has the current value", "a", JsonParser.parseString(Files.readString(file.toPath())).getAsJsonObject().getAsJsonObject("group").get("string").getAsString());
+    }
+
+    @Test
+    public void malformedFileChangesNothing() throws IOException {
+        File file = File.createTempFile("oro-config", ".json");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), "{\"first\": {\"int\": 5}, \"second\": {\"int\": }");
+
+        IntegerConfigItem first = new IntegerConfigItem("int", 1, "int");
+        IntegerConfigItem second = new IntegerConfigItem("int", 2, "int");
+        Config config = new Config(List.of(new ConfigItemGroup(List.of(first), "first"), new ConfigItemGroup(List.of(second), "second")), file, "test");
+        long version = config.getVersion();
+        config.readConfigFromFile();
+
+        assertEquals("Groups before the error are not set", 1, first.getInt());
+        assertEquals("Nothing is marked as changed", version, config.getVersion());
+    }
+
+    @Test
+    public void metricsCountOperations() throws IOException {
+        File file = File.createTempFile("oro-config", ".json");
+        file.delete();
+        file.deleteOnExit();
+
+        IntegerConfigItem item = new IntegerConfigItem("int", 1, "int");
+        Config config = new Config(List.of(new ConfigItemGroup(List.of(item), "group")), file, "test");
+        config.saveConfigToFile();
+        config.getValue("group.int", Integer.class);
+        item.setInt(2);
+
+        ConfigMetrics metrics = config.getMetrics();
+        assertEquals("getValue is counted", 1, metrics.getValueCalls());
+        assertEquals("Changes are counted", 1, metrics.getChanges());
+        assertEquals("Bytes written match the file", Files.size(file.toPath()), metrics.getBytesWritten());
+        assertEquals("Write is timed", 1, metrics.getWriteTime().getCount());
+        assertTrue("Percentile bounds the mean", metrics.getWriteTime().getPercentileNanos(100) >= metrics.getWriteTime().getMeanNanos());
+    }
+
+    @Test
+    public void flightRecorderEvents() throws IOException {
+        File file = File.createTempFile("oro-config", ".json");
+        file.delete();
+        file.deleteOnExit();
+        File recordingFile = File.createTempFile("oro-config", ".jfr");
+        recordingFile.deleteOnExit();
+
+        IntegerConfigItem item = new IntegerConfigItem("int", 1, "int");
+        Config config = new Config(List.of(new ConfigItemGroup(List.of(item), "group")), file, "test");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.oroarmor.config.Save");
+            recording.enable("com.oroarmor.config.SetValue");
+            recording.start();
+            config.saveConfigToFile();
+            item.setInt(2);
+            recording.stop();
+            recording.dump(recordingFile.toPath());
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile.toPath());
+        assertEquals("One event per operation", 2, events.size());
+        RecordedEvent save = events.stream().filter(e -> e.getEventType().getName().equals("com.oroarmor.config.Save")).findFirst().orElseThrow();
+        assertEquals("Save has the config id", "test", save.getString("configId"));
+        assertEquals("Save has the file size", Files.size(file.toPath()), save.getLong("bytes"));
+        RecordedEvent set = events.stream().filter(e -> e.getEventType().getName().equals("com.oroarmor.config.SetValue")).findFirst().orElseThrow();
+        assertEquals("Set value has the item path", "group.int", set.getString("path"));
+    }
+
+    @Test
+    public void applyChangesOnlyChangedItems() {
+        AtomicInteger changes = new AtomicInteger();
+        IntegerConfigItem changed = new IntegerConfigItem("changed", 1, "changed", item -> changes.incrementAndGet());
+        IntegerConfigItem unchanged = new IntegerConfigItem("unchanged", 1, "unchanged", item -> changes.incrementAndGet());
+        ArrayConfigItem<Integer> array = new ArrayConfigItem<>("array", new Integer[]{1, 2}, "array", item -> changes.incrementAndGet());
+        ConfigItemGroup nested = new ConfigItemGroup(List.of(array), "nested");
+        Config config = new Config(List.of(new ConfigItemGroup(List.of(changed, unchanged, nested), "group")), null, "test");
+
+        int count = config.applyChanges(JsonParser.parseString("{\"group\": {\"changed\": 5, \"unchanged\": 1, \"nested\": {\"array\": [1, 3]}}}").getAsJsonObject());
+        assertEquals("Two items changed", 2, count);
+        assertEquals("onChange runs once per changed item", 2, changes.get());
+        assertEquals("Changed value is set", 5, changed.getInt());
+        assertEquals("Changed array is set", (Integer) 3, array.getValue(1));
+    }
+
+    @Test
+    public void registryLoadsConfigs() throws IOException {
+        File file = File.createTempFile("oro-config", ".json");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "{\"first\": {\"int\": 2}, \"second\": {\"string\": \"loaded\"}}".getBytes(StandardCharsets.UTF_8));
+
+        IntegerConfigItem first = new IntegerConfigItem("int", 1, "int");
+        StringConfigItem second = new StringConfigItem("string", "default", "string");
+        Config config = new Config(List.of(new ConfigItemGroup(List.of(first), "first"), new ConfigItemGroup(List.of(second), "second")), file, "registry_test");
+
+        ConfigRegistry.register(config);
+        assertEquals("Registry returns the loaded config", config, ConfigRegistry.await("registry_test"));
+        assertEquals("First group is loaded", 2, first.getInt());
+        assertEquals("Second group is loaded", "loaded", second.getValue());
+    }
+
+    @Test
+    public void registryReportsReadFailures() throws IOException {
+        File file = File.createTempFile("oro-config", ".json");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), "{\"group\": {\"int\": }");
+
+        Config config = new Config(List.of(new ConfigItemGroup(List.of(new IntegerConfigItem("int", 1, "int")), "group")), file, "registry_failure_test");
+
+        assertTrue("The load fails", ConfigRegistry.register(config).handle((loaded, t) -> t != null).join());
+    }
+
+    @Test
+    public void groupGetConfig() {
+        Fixture fixture = new Fixture(null);
+        ConfigItemGroup group = fixture.group;
+        assertEquals("Finds item by name", fixture.testBoolean, group.getConfig("test_boolean"));
+        assertEquals("Finds nested group by name", "nested", group.getConfig("nested").getName());
+        assertNull("Missing name is null", group.getConfig("missing"));
+        assertEquals("Config finds top level group", group, fixture.config.getGroup("group"));
+    }
+
+    @Test
+    public void configGetConfig() {
+        Fixture fixture = new Fixture(null);
+        Config config = fixture.config;
+        assertEquals("Finds a top level group", fixture.group, config.getConfig("group"));
+        assertEquals("Finds a nested item", fixture.testString, config.getConfig("group.nested.triple.test_string"));
+        assertNull("An item has no children", config.getConfig("group.test_boolean.child"));
+        assertNull("Missing path is null", config.getConfig("group.missing"));
+        assertNull("Groups are not config items", config.getConfigItem("group.nested"));
+
+        fixture.group.getConfigs().add(new IntegerConfigItem("added", 1, "added"));
+        assertEquals("Sees items added to a group", 1, config.getConfig("group.added").getValue());
+    }
+
+    @Test
+    public void reloadIsDroppedAfterASave() throws IOException {
+        File file = File.createTempFile("oro-config", ".json");
+        file.deleteOnExit();
+        IntegerConfigItem item = new IntegerConfigItem("int", 1, "int");
+        Config config = new Config(List.of(new ConfigItemGroup(List.of(item), "group")), file, "reload_test");
+        config.saveConfigToFile();
+
+        Files.writeString(file.toPath(), "{\"group\": {\"int\": 5}}");
+        file.setLastModified(file.lastModified() + 2000);
+        List<Runnable> queued = new ArrayList<>();
+        config.reloadChangedItems(queued::add);
+        assertEquals("The reload is queued", 1, queued.size());
+
+        item.setInt(7);
+        config.saveConfigToFile();
+        queued.forEach(Runnable::run);
+
+        assertEquals("The stale reload is not applied", 7, item.getInt());
+        assertEquals("The file has the saved value", 7, JsonParser.parseString(Files.readString(file.toPath())).getAsJsonObject().getAsJsonObject("group").get("int").getAsInt());
+    }
+
+    @Test
+    public void snapshotIsVersioned() {
+        IntegerConfigItem changed = new IntegerConfigItem("changed", 1, "changed");
+        StringConfigItem untouched = new StringConfigItem("untouched", "value", "untouched");
+        ConfigItemGroup first = new ConfigItemGroup(List.of(changed), "first");
+        ConfigItemGroup second = new ConfigItemGroup(List.of(untouched), "second");
+        Config config = new Config(List.of(first, second), null, "snapshot_test");
+
+        ConfigSnapshot snapshot = config.snapshot();
+        assertSame("Unchanged config returns the same snapshot", snapshot, config.snapshot());
+
+        changed.setInt(5);
+        ConfigSnapshot next = config.snapshot();
+        assertTrue("Version increases after a change", next.getVersion() > snapshot.getVersion());
+        assertEquals("Old snapshot keeps the old value", (Integer) 1, snapshot.get(changed));
+        assertEquals("New snapshot has the new value", (Integer) 5, next.get(changed));
+        assertEquals("Path lookup reads the snapshot", (Integer) 1, snapshot.getValue("first.changed", Integer.class));
+        assertEquals("Unchanged group is carried over", "value", next.get(untouched));
+    }
+
+    @Test
+    public void snapshotsAreConsistentWithConcurrentSets() throws InterruptedException {
+        IntegerConfigItem first = new IntegerConfigItem("first", 0, "first");
+        IntegerConfigItem second = new IntegerConfigItem("second", 0, "second");
+        Config config = new Config(List.of(new ConfigItemGroup(List.of(first, second), "group")), null, "snapshot_test");
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        // first is always set before second, so first is never behind second and at most one ahead
+        Thread writer = new Thread(() -> {
+            for (int i = 1; running.get(); i++) {
+                first.setInt(i);
+                second.setInt(i);
+            }
+        });
+        writer.start();
+
+        String failure = null;
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(250);
+        while (failure == null && System.nanoTime() < end) {
+            ConfigSnapshot snapshot = config.snapshot();
+            int difference = snapshot.get(first) - snapshot.get(second);
+            if (difference != 0 && difference != 1) {
+                failure = "Snapshot mixed first " + snapshot.get(first) + " with second " + snapshot.get(second);
+            }
+        }
+        running.set(false);
+        writer.join();
+
+        assertNull(failure);
+    }
+
+    @Test
+    public void editCommitsOnce() throws IOException {
+        File file = File.createTempFile("oro-config", ".json");
+        file.deleteOnExit();
+        AtomicInteger changes = new AtomicInteger();
+        IntegerConfigItem clamped = new IntegerConfigItem("clamped", 1, "clamped", item -> changes.incrementAndGet(), 0, 10);
+        StringConfigItem string = new StringConfigItem("string", "old", "string", item -> changes.incrementAndGet());
+        Config config = new Config(List.of(new ConfigItemGroup(List.of(clamped, string), "group")), file, "edit_test");
+        long version = config.getVersion();
+
+        config.edit(tx -> {
+            tx.set(clamped, 3).set(clamped, 20).set(string, "new");
+            assertEquals("Transaction reads the clamped value", (Integer) 10, tx.get(clamped));
+        });
+        assertEquals("Value is clamped", 10, clamped.getInt());
+        assertEquals("Value is set", "new", string.getValue());
+        assertEquals("onChange runs once per item", 2, changes.get());
+        assertEquals("Version moves once", version + 1, config.getVersion());
+        assertEquals("Config is saved once", 1, config.getPerformedWrites());
+
+        try {
+            config.edit(tx -> {
+                tx.set(string, "rolled back");
+                throw new IllegalStateException();
+            });
+        } catch (IllegalStateException ignored) {
+        }
+        assertEquals("Failed edit sets nothing", "new", string.getValue());
+        assertEquals("Failed edit does not notify", 2, changes.get());
+
+        long clampedVersion = config.getVersion();
+        config.edit(tx -> tx.set(clamped, 30));
+        assertEquals("Value clamped to the current value is not a change", 2, changes.get());
+        assertEquals("Version does not move without a change", clampedVersion, config.getVersion());
+    }
+
+    @Test
+    public void listenersAreCoalesced() {
+        IntegerConfigItem watched = new IntegerConfigItem("watched", 1, "watched");
+        IntegerConfigItem other = new IntegerConfigItem("other", 1, "other");
+        ConfigItemGroup nested = new ConfigItemGroup(List.of(watched), "nested");
+        Config config = new Config(List.of(new ConfigItemGroup(List.of(nested, other), "group")), null, "listener_test");
+
+        List<Runnable> queued = new ArrayList<>();
+        List<Object> delivered = new ArrayList<>();
+        ConfigSubscription subscription = config.subscribe("group.nested", queued::add, item -> delivered.add(item.getValue()));
+
+        watched.setInt(2);
+        watched.setInt(3);
+        other.setInt(4);
+        assertEquals("One delivery is queued", 1, queued.size());
+        queued.forEach(Runnable::run);
+        assertEquals("Only the latest value is delivered", List.of(3), delivered);
+
+        subscription.cancel();
+        watched.setInt(5);
+        assertEquals("Cancelled listener is not run", 1, queued.size());
+    }
+
+    /**
+     * The layout of {@link TestConfig} built from new items, so that tests do
+     * not share items or depend on the order they run in
+     */
+    private static final class Fixture {
+        final BooleanConfigItem testBoolean = new BooleanConfigItem("test_boolean", true, "test_boolean");
+        final EnumConfigItem<EnumTest> testEnum = new EnumConfigItem<>("test_enum", EnumTest.A, "test_enum");
+        final ArrayConfigItem<Integer> testArray = new ArrayConfigItem<>("test_array", new Integer[]{1, 2, 3}, "test_array");
+        final IntegerConfigItem testInt = new IntegerConfigItem("test_int", 0, "test_integer");
+        final StringConfigItem testString = new StringConfigItem("test_string", "Default", "test_string");
+        final ConfigItemGroup group = new ConfigItemGroup(List.of(
+                new ConfigItemGroup(List.of(testInt, new ConfigItemGroup(List.of(testString), "triple")), "nested"),
+                testBoolean, testEnum, testArray), "group");
+        final Config config;
+
+        Fixture(File file) {
+            this.config = new Config(List.of(group), file, "oroarmor_config_testmod");
+        }
+    }
 }
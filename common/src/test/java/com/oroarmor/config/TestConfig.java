@@ -24,6 +24,7 @@
 
 package com.oroarmor.config;
 
+import java.io.File;
 import java.util.List;
 
 import static com.google.common.collect.ImmutableList.of;
@@ -34,7 +35,11 @@ public class TestConfig extends Config {
     public static final List<ConfigItemGroup> configs = of(mainGroup);
 
     public TestConfig() {
-        super(configs, null, "oroarmor_config_testmod");
+        this(null);
+    }
+
+    public TestConfig(File file) {
+        super(configs, file, "oroarmor_config_testmod");
     }
 
     public static class ConfigGroupLevel1 extends ConfigItemGroup {